@@ -13,5 +13,11 @@ public final class Const {
     public static final String STATE_REQUEST_PARAM = "state";
     public static final String DEFAULT_STATE_VALUE = "ALL";
     public static final String SEARCH_REQUEST_PARAM = "text";
+    public static final String START_REQUEST_PARAM = "start";
+    public static final String END_REQUEST_PARAM = "end";
     public static final String BOOKING_ID_PATH_NAME = "bookingId";
+    public static final String AFTER_REQUEST_PARAM = "after";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String X_DEADLINE_HEADER = "X-Deadline-Ms";
 }
@@ -0,0 +1,78 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the request handled by the current thread. It arrives as a remaining budget in
+ * {@link Const#X_DEADLINE_HEADER} and is passed on the same way, so the tiers do not need synchronized clocks.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestDeadline {
+    public static final String EXCEEDED_MESSAGE = "Превышено время обработки запроса";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    public static void start(long budgetMillis) {
+        DEADLINE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    public static OptionalLong remainingMillis() {
+        var deadline = DEADLINE.get();
+        if (deadline == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    public static OptionalLong requireRemainingMillis() {
+        var remaining = remainingMillis();
+        if (remaining.isPresent() && remaining.getAsLong() <= 0) {
+            throw new DeadlineExceededException(EXCEEDED_MESSAGE);
+        }
+        return remaining;
+    }
+
+    /**
+     * Wraps a task so that it runs under the current thread's deadline on whichever thread executes it.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        var deadline = DEADLINE.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            var previous = DEADLINE.get();
+            DEADLINE.set(deadline);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    DEADLINE.remove();
+                } else {
+                    DEADLINE.set(previous);
+                }
+            }
+        };
+    }
+
+    public static OptionalLong parseBudget(String header) {
+        if (header == null || header.isBlank()) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -2,28 +2,65 @@ package ru.practicum.shareit.client;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.RequestDeadline;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.exception.DeadlineExceededException;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
+import static ru.practicum.shareit.Const.X_DEADLINE_HEADER;
 import static ru.practicum.shareit.Const.X_SHARER_USER_ID_HEADER;
 
+/**
+ * Relays server responses to the caller as raw bytes with their headers, so bodies are never
+ * deserialized in the gateway. Inbound DTOs are still validated by the gateway controllers.
+ */
 class BaseClient {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length"
+    );
+
     protected final RestTemplate rest;
+    protected final RestTemplate streamingRest;
+    private final String basePath;
+    private final ClientGuard guard;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, ClientGuard guard) {
         this.rest = rest;
+        this.streamingRest = rest;
+        this.basePath = "";
+        this.guard = guard;
     }
 
-    public BaseClient(@NonNull RestTemplateBuilder builder, @NonNull String template) {
+    public BaseClient(@NonNull RestTemplateBuilder builder, @NonNull GatewayConfig config, @NonNull ClientGuard guard, @NonNull String path) {
+        basePath = path;
+        this.guard = guard;
+        var template = config.buildServerRoute(path);
         rest = builder.uriTemplateHandler(new DefaultUriBuilderFactory(template))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .requestFactory(config::buildRequestFactory)
+                .build();
+        streamingRest = builder.uriTemplateHandler(new DefaultUriBuilderFactory(template))
+                .requestFactory(config::buildStreamingRequestFactory)
                 .build();
     }
 
@@ -36,7 +73,44 @@ class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return guardFor(path).executeIdempotent(route(path), () -> send(HttpMethod.GET, path, userId, parameters, null));
+    }
+
+    protected ResponseEntity<Object> getCoalesced(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                  RequestCoalescer coalescer, Supplier<ResponseEntity<Object>> request) {
+        var uri = rest.getUriTemplateHandler().expand(path, parameters == null ? Map.of() : parameters);
+        return coalescer.execute(HttpMethod.GET + " " + uri + " " + userId, request);
+    }
+
+    protected ResponseEntity<Object> getValidated(String path, Long userId, ResponseCache cache) {
+        return guardFor(path).executeIdempotent(route(path), () -> {
+            var key = ResponseCache.key(userId, basePath + path);
+            var cached = cache.get(key);
+            var headers = defaultHeaders(userId);
+            if (cached != null) {
+                headers.setIfNoneMatch(cached.getETag());
+            }
+
+            ResponseEntity<byte[]> shareitServerResponse;
+            try {
+                shareitServerResponse = withTimeout(() -> rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class));
+            } catch (HttpStatusCodeException e) {
+                cache.evict(key);
+                return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+            }
+
+            if (cached != null && shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return prepareGatewayResponse(HttpStatus.OK, cached.getHeaders(), cached.getBody());
+            }
+            var eTag = shareitServerResponse.getHeaders().getETag();
+            var body = shareitServerResponse.getBody();
+            if (shareitServerResponse.getStatusCode() == HttpStatus.OK && eTag != null && body != null) {
+                cache.put(key, new ResponseCache.Entry(eTag, proxyHeaders(shareitServerResponse.getHeaders()), body));
+            } else {
+                cache.evict(key);
+            }
+            return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(), body);
+        });
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -92,20 +166,75 @@ class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected void streamGet(String path, Long userId, Map<String, Object> parameters, MediaType accept, HttpServletResponse response) throws IOException {
+        stream(HttpMethod.GET, path, userId, parameters, request -> request.getHeaders().setAccept(List.of(accept)), response);
+    }
+
+    protected void streamPost(String path, Long userId, MediaType contentType, MediaType accept, InputStream body, HttpServletResponse response) throws IOException {
+        stream(HttpMethod.POST, path, userId, Map.of(), request -> {
+            request.getHeaders().setContentType(contentType);
+            request.getHeaders().setAccept(List.of(accept));
+            copy(body, request.getBody());
+        }, response);
+    }
+
+    private void stream(HttpMethod method, String path, Long userId, Map<String, Object> parameters, RequestCallback callback, HttpServletResponse response) throws IOException {
+        guardFor(path).executeStream(() -> {
+            try {
+                streamingRest.execute(path, method, request -> {
+                    request.getHeaders().set(X_SHARER_USER_ID_HEADER, String.valueOf(userId));
+                    callback.doWithRequest(request);
+                }, upstream -> {
+                    response.setStatus(upstream.getRawStatusCode());
+                    var upstreamType = upstream.getHeaders().getContentType();
+                    if (upstreamType != null) {
+                        response.setContentType(upstreamType.toString());
+                    }
+                    copy(upstream.getBody(), response.getOutputStream());
+                    return null;
+                }, parameters);
+            } catch (HttpStatusCodeException e) {
+                response.setStatus(e.getRawStatusCode());
+                var headers = e.getResponseHeaders();
+                if (headers != null && headers.getContentType() != null) {
+                    response.setContentType(headers.getContentType().toString());
+                }
+                response.getOutputStream().write(e.getResponseBodyAsByteArray());
+            }
+            return response.getStatus();
+        });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return guardFor(path).execute(() -> send(method, path, userId, parameters, body));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> send(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = withTimeout(() -> rest.exchange(path, method, requestEntity, byte[].class, parameters));
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = withTimeout(() -> rest.exchange(path, method, requestEntity, byte[].class));
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(), shareitServerResponse.getBody());
+    }
+
+    protected ClientGuard guardFor(String path) {
+        return guard;
+    }
+
+    /**
+     * Latency is tracked per route template rather than per URI, so ids and query strings are dropped.
+     */
+    private String route(String path) {
+        var query = path.indexOf('?');
+        var template = query < 0 ? path : path.substring(0, query);
+        return basePath + ID_SEGMENT.matcher(template).replaceAll("/{id}");
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -115,20 +244,50 @@ class BaseClient {
         if (userId != null) {
             headers.set(X_SHARER_USER_ID_HEADER, String.valueOf(userId));
         }
+        RequestDeadline.requireRemainingMillis()
+                .ifPresent(remaining -> headers.set(X_DEADLINE_HEADER, String.valueOf(remaining)));
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<byte[]> withTimeout(Supplier<ResponseEntity<byte[]>> exchange) {
+        try {
+            return exchange.get();
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof SocketTimeoutException) {
+                throw new DeadlineExceededException(RequestDeadline.EXCEEDED_MESSAGE);
+            }
+            throw e;
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        var buffer = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
         }
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders upstreamHeaders, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(proxyHeaders(upstreamHeaders));
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    static HttpHeaders proxyHeaders(@Nullable HttpHeaders upstreamHeaders) {
+        var headers = new HttpHeaders();
+        if (upstreamHeaders != null) {
+            upstreamHeaders.forEach((name, values) -> {
+                if (!SKIPPED_RESPONSE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+}
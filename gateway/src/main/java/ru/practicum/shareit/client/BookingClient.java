@@ -2,8 +2,12 @@ package ru.practicum.shareit.client;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
 public interface BookingClient {
     @NonNull
     ResponseEntity<Object> newRequest(@NonNull Long userId, @NonNull Long itemId, @NonNull BookingDto booking);
@@ -15,8 +19,12 @@ public interface BookingClient {
     ResponseEntity<Object> getRequestById(@NonNull Long userId, @NonNull Long bookingId);
 
     @NonNull
-    ResponseEntity<Object> getAllRequests(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size);
+    ResponseEntity<Object> getAllRequests(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size, @Nullable String after);
 
     @NonNull
-    ResponseEntity<Object> getAllRequestsForOwner(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size);
+    ResponseEntity<Object> getAllRequestsForOwner(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size, @Nullable String after);
+
+    void exportRequests(@NonNull Long userId, @NonNull String state, @NonNull HttpServletResponse response) throws IOException;
+
+    void exportRequestsForOwner(@NonNull Long userId, @NonNull String state, @NonNull HttpServletResponse response) throws IOException;
 }
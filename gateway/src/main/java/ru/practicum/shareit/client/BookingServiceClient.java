@@ -2,36 +2,37 @@ package ru.practicum.shareit.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.configuration.GatewayConfig;
 import ru.practicum.shareit.exception.BadRequestException;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 import static ru.practicum.shareit.Const.*;
 
 @Service
+@Profile(GatewayConfig.SERVLET_PROFILE)
 class BookingServiceClient extends BaseClient implements BookingClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingServiceClient(GatewayConfig config, RestTemplateBuilder builder) {
-        super(builder, config.buildServerRoute(API_PREFIX));
+    public BookingServiceClient(GatewayConfig config, RestTemplateBuilder builder, ClientGuards guards) {
+        super(builder, config, guards.get(ClientGuards.BOOKINGS), API_PREFIX);
     }
 
     @NonNull
     @Override
     public ResponseEntity<Object> newRequest(@NonNull Long userId, @NonNull Long itemId, @NonNull BookingDto booking) {
-        if (booking.getStart().isEqual(booking.getEnd())) {
-            throw new BadRequestException("Нельзя забронировать вещь. Даты начала и окончания брони одинаковы");
-        }
-        if (booking.getEnd().isBefore(booking.getStart())) {
-            throw new BadRequestException("Нельзя забронировать вещь. Дата окончания брони меньше даты начала брони");
-        }
-
+        checkDates(booking);
         return post("", userId, booking);
     }
 
@@ -53,25 +54,51 @@ class BookingServiceClient extends BaseClient implements BookingClient {
 
     @NonNull
     @Override
-    public ResponseEntity<Object> getAllRequests(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size) {
+    public ResponseEntity<Object> getAllRequests(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size, @Nullable String after) {
         return get(
-                "?state={state}&from={from}&size={size}",
+                "?state={state}&from={from}&size={size}" + (after != null ? "&after={after}" : ""),
                 userId,
-                Map.of(STATE_REQUEST_PARAM, state,
-                        FROM_REQUEST_PARAM, from,
-                        SIZE_REQUEST_PARAM, size)
+                pageParameters(state, from, size, after)
         );
     }
 
     @NonNull
     @Override
-    public ResponseEntity<Object> getAllRequestsForOwner(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size) {
+    public ResponseEntity<Object> getAllRequestsForOwner(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size, @Nullable String after) {
         return get(
-                "/owner?state={state}&from={from}&size={size}",
+                "/owner?state={state}&from={from}&size={size}" + (after != null ? "&after={after}" : ""),
                 userId,
-                Map.of(STATE_REQUEST_PARAM, state,
-                        FROM_REQUEST_PARAM, from,
-                        SIZE_REQUEST_PARAM, size)
+                pageParameters(state, from, size, after)
         );
     }
+
+    @Override
+    public void exportRequests(@NonNull Long userId, @NonNull String state, @NonNull HttpServletResponse response) throws IOException {
+        streamGet("/export?state={state}", userId, Map.of(STATE_REQUEST_PARAM, state), MediaType.APPLICATION_NDJSON, response);
+    }
+
+    @Override
+    public void exportRequestsForOwner(@NonNull Long userId, @NonNull String state, @NonNull HttpServletResponse response) throws IOException {
+        streamGet("/owner/export?state={state}", userId, Map.of(STATE_REQUEST_PARAM, state), MediaType.APPLICATION_NDJSON, response);
+    }
+
+    static void checkDates(BookingDto booking) {
+        if (booking.getStart().isEqual(booking.getEnd())) {
+            throw new BadRequestException("Нельзя забронировать вещь. Даты начала и окончания брони одинаковы");
+        }
+        if (booking.getEnd().isBefore(booking.getStart())) {
+            throw new BadRequestException("Нельзя забронировать вещь. Дата окончания брони меньше даты начала брони");
+        }
+    }
+
+    static Map<String, Object> pageParameters(String state, Integer from, Integer size, @Nullable String after) {
+        var parameters = new HashMap<String, Object>();
+        parameters.put(STATE_REQUEST_PARAM, state);
+        parameters.put(FROM_REQUEST_PARAM, from);
+        parameters.put(SIZE_REQUEST_PARAM, size);
+        if (after != null) {
+            parameters.put(AFTER_REQUEST_PARAM, after);
+        }
+        return parameters;
+    }
 }
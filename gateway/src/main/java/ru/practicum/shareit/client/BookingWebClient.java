@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.configuration.GatewayConfig;
+
+import java.util.Map;
+
+import static ru.practicum.shareit.Const.STATE_REQUEST_PARAM;
+
+@Service
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+class BookingWebClient extends ReactiveBaseClient implements ReactiveBookingClient {
+    private static final String API_PREFIX = "/bookings";
+
+    public BookingWebClient(WebClient serverWebClient) {
+        super(serverWebClient, API_PREFIX);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> newRequest(@NonNull Long userId, @NonNull Long itemId, @NonNull BookingDto booking) {
+        BookingServiceClient.checkDates(booking);
+        return post("", userId, booking);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> changeRequestStatus(@NonNull Long userId, @NonNull Long bookingId, boolean isApproved) {
+        return patch(
+                String.format("/%d?approved={approved}", bookingId),
+                userId,
+                Map.of("approved", isApproved),
+                null
+        );
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(@NonNull Long userId, @NonNull Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size, @Nullable String after) {
+        return get(
+                "?state={state}&from={from}&size={size}" + (after != null ? "&after={after}" : ""),
+                userId,
+                BookingServiceClient.pageParameters(state, from, size, after)
+        );
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequestsForOwner(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size, @Nullable String after) {
+        return get(
+                "/owner?state={state}&from={from}&size={size}" + (after != null ? "&after={after}" : ""),
+                userId,
+                BookingServiceClient.pageParameters(state, from, size, after)
+        );
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportRequests(@NonNull Long userId, @NonNull String state) {
+        return streamGet("/export?state={state}", userId, Map.of(STATE_REQUEST_PARAM, state), MediaType.APPLICATION_NDJSON);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportRequestsForOwner(@NonNull Long userId, @NonNull String state) {
+        return streamGet("/owner/export?state={state}", userId, Map.of(STATE_REQUEST_PARAM, state), MediaType.APPLICATION_NDJSON);
+    }
+}
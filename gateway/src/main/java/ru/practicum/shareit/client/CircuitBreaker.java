@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import ru.practicum.shareit.configuration.ResilienceProperties;
+
+/**
+ * Count-based circuit breaker over the last {@code windowSize} calls. It opens when the share of failed
+ * or slow calls crosses its threshold, rejects calls for {@code openDuration}, then lets a few trial
+ * calls through and closes again only if they succeed.
+ */
+class CircuitBreaker {
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ResilienceProperties properties;
+    private final long openNanos;
+    private final byte[] window;
+    private int next;
+    private int recorded;
+    private int failed;
+    private int slow;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialPermits;
+
+    CircuitBreaker(ResilienceProperties properties) {
+        this.properties = properties;
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.window = new byte[properties.getWindowSize()];
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns 0 when the call may proceed, otherwise the nanoseconds left until the breaker lets trial calls through.
+     */
+    synchronized long tryAcquire(long now) {
+        if (state == State.OPEN) {
+            var remaining = openedAt + openNanos - now;
+            if (remaining > 0) {
+                return remaining;
+            }
+            state = State.HALF_OPEN;
+            trialPermits = properties.getHalfOpenCalls();
+            reset();
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialPermits == 0) {
+                return openNanos;
+            }
+            trialPermits--;
+        }
+        return 0;
+    }
+
+    synchronized void onResult(boolean isFailed, boolean isSlow, long now) {
+        if (state == State.OPEN) {
+            return;
+        }
+        if (recorded == window.length) {
+            var oldest = window[next];
+            failed -= oldest & FAILED;
+            slow -= (oldest & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        window[next] = (byte) ((isFailed ? FAILED : 0) | (isSlow ? SLOW : 0));
+        next = (next + 1) % window.length;
+        failed += isFailed ? 1 : 0;
+        slow += isSlow ? 1 : 0;
+
+        if (state == State.HALF_OPEN) {
+            if (recorded < properties.getHalfOpenCalls()) {
+                return;
+            }
+            if (exceedsThresholds()) {
+                open(now);
+            } else {
+                state = State.CLOSED;
+                reset();
+            }
+        } else if (recorded >= properties.getMinimumCalls() && exceedsThresholds()) {
+            open(now);
+        }
+    }
+
+    private boolean exceedsThresholds() {
+        return failed * 100 >= properties.getFailureRateThreshold() * recorded
+                || slow * 100 >= properties.getSlowCallRateThreshold() * recorded;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+    }
+
+    private void reset() {
+        next = 0;
+        recorded = 0;
+        failed = 0;
+        slow = 0;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.configuration.ResilienceProperties;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bulkhead and circuit breaker for one family of server calls. Calls beyond the bulkhead or made
+ * while the breaker is open fail fast with {@link ServiceUnavailableException} instead of holding a
+ * request thread.
+ */
+class ClientGuard {
+    private final String name;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitNanos;
+    private final long slowCallNanos;
+    private final CircuitBreaker breaker;
+    private final RequestHedger hedger;
+
+    ClientGuard(String name, int maxConcurrent, ResilienceProperties properties, RequestHedger hedger) {
+        this.name = name;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.bulkheadWaitNanos = properties.getBulkheadWait().toNanos();
+        this.slowCallNanos = properties.getSlowCallDuration().toNanos();
+        this.breaker = new CircuitBreaker(properties);
+        this.hedger = hedger;
+    }
+
+    CircuitBreaker.State getState() {
+        return breaker.getState();
+    }
+
+    int getAvailablePermits() {
+        return bulkhead.availablePermits();
+    }
+
+    ResponseEntity<Object> execute(Supplier<ResponseEntity<Object>> call) {
+        try {
+            return guard(call::get, ResponseEntity::getStatusCodeValue, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Each attempt of a hedged read takes its own bulkhead permit and is reported to the breaker. The attempt
+     * that lost and was aborted counts as neither failed nor slow.
+     */
+    ResponseEntity<Object> executeIdempotent(String route, Supplier<ResponseEntity<Object>> call) {
+        return hedger.execute(route, () -> execute(call));
+    }
+
+    /**
+     * Streams are long by design, so only their failures count towards the breaker, not their duration.
+     */
+    void executeStream(UpstreamCall<Integer> call) throws IOException {
+        guard(call, status -> status, false);
+    }
+
+    private <T> T guard(UpstreamCall<T> call, ToIntFunction<T> statusOf, boolean trackSlow) throws IOException {
+        acquireBulkhead();
+        try {
+            var now = System.nanoTime();
+            var wait = breaker.tryAcquire(now);
+            if (wait > 0) {
+                throw new ServiceUnavailableException(String.format(
+                        "Сервис %1$s временно недоступен, повторите через %2$d с", name, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait))));
+            }
+            var failed = true;
+            try {
+                var result = call.call();
+                failed = statusOf.applyAsInt(result) >= 500;
+                return result;
+            } finally {
+                var end = System.nanoTime();
+                var cancelled = HedgeAttempt.isCurrentCancelled();
+                breaker.onResult(failed && !cancelled, !cancelled && trackSlow && end - now > slowCallNanos, end);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquireBulkhead() {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw new ServiceUnavailableException(String.format("Превышено число одновременных запросов к сервису %1$s", name));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(String.format("Превышено число одновременных запросов к сервису %1$s", name));
+        }
+    }
+
+    @FunctionalInterface
+    interface UpstreamCall<T> {
+        T call() throws IOException;
+    }
+}
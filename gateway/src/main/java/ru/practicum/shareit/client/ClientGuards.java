@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.configuration.ResilienceProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Profile(GatewayConfig.SERVLET_PROFILE)
+@RequiredArgsConstructor
+class ClientGuards {
+    static final String USERS = "users";
+    static final String ITEMS = "items";
+    static final String SEARCH = "search";
+    static final String REQUESTS = "requests";
+    static final String BOOKINGS = "bookings";
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry registry;
+    private final RequestHedger hedger;
+    private final Map<String, ClientGuard> guards = new ConcurrentHashMap<>();
+
+    ClientGuard get(String name) {
+        return guards.computeIfAbsent(name, this::create);
+    }
+
+    private ClientGuard create(String name) {
+        var guard = new ClientGuard(name, properties.getBulkheads().getOrDefault(name, properties.getDefaultBulkhead()), properties, hedger);
+        Gauge.builder("shareit.gateway.circuit.open", guard, it -> it.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .tag("client", name)
+                .register(registry);
+        Gauge.builder("shareit.gateway.bulkhead.available", guard, ClientGuard::getAvailablePermits)
+                .tag("client", name)
+                .register(registry);
+        return guard;
+    }
+}
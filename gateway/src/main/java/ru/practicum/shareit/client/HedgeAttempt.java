@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * One attempt of a hedged read. The request factory registers the HTTP request sent by the attempt, so
+ * the attempt that loses the race can be aborted instead of holding a pooled connection and a thread.
+ */
+public final class HedgeAttempt {
+    private static final ThreadLocal<HedgeAttempt> CURRENT = new ThreadLocal<>();
+
+    private HttpUriRequest request;
+    private boolean cancelled;
+
+    /**
+     * Binds the request to the attempt running on the current thread, if any.
+     */
+    public static void register(HttpUriRequest request) {
+        var attempt = CURRENT.get();
+        if (attempt != null) {
+            attempt.attach(request);
+        }
+    }
+
+    static boolean isCurrentCancelled() {
+        var attempt = CURRENT.get();
+        return attempt != null && attempt.isCancelled();
+    }
+
+    <T> Supplier<T> bind(Supplier<T> task) {
+        return () -> {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            CURRENT.set(this);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    synchronized void cancel() {
+        cancelled = true;
+        if (request != null) {
+            request.abort();
+        }
+    }
+
+    private synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private synchronized void attach(HttpUriRequest request) {
+        this.request = request;
+        if (cancelled) {
+            request.abort();
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
 public interface ItemClient {
     @NonNull
     ResponseEntity<Object> getItems(@NonNull Long userId, @NonNull Integer from, @NonNull Integer size);
@@ -15,9 +22,15 @@ public interface ItemClient {
     @NonNull
     ResponseEntity<Object> searchItems(@NonNull String text, @NonNull Integer from, @NonNull Integer size);
 
+    @NonNull
+    ResponseEntity<Object> getAvailableItems(@Nullable String text, @NonNull LocalDateTime start, @NonNull LocalDateTime end,
+                                             @NonNull Integer from, @NonNull Integer size);
+
     @NonNull
     ResponseEntity<Object> addItem(@NonNull Long userId, @NonNull ItemDto item);
 
+    void importItems(@NonNull Long userId, @NonNull MediaType contentType, @NonNull InputStream body, @NonNull HttpServletResponse response) throws IOException;
+
     @NonNull
     ResponseEntity<Object> updateItem(@NonNull Long userId, @NonNull Long itemId, @NonNull ItemDto item);
 
@@ -2,6 +2,7 @@ package ru.practicum.shareit.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -14,12 +15,18 @@ import static ru.practicum.shareit.Const.FROM_REQUEST_PARAM;
 import static ru.practicum.shareit.Const.SIZE_REQUEST_PARAM;
 
 @Service
+@Profile(GatewayConfig.SERVLET_PROFILE)
 class ItemRequestServiceClient extends BaseClient implements ItemRequestClient {
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache cache;
+    private final RequestCoalescer coalescer;
+
     @Autowired
-    public ItemRequestServiceClient(GatewayConfig config, RestTemplateBuilder builder) {
-        super(builder, config.buildServerRoute(API_PREFIX));
+    public ItemRequestServiceClient(GatewayConfig config, RestTemplateBuilder builder, ClientGuards guards, ResponseCache cache, RequestCoalescer coalescer) {
+        super(builder, config, guards.get(ClientGuards.REQUESTS), API_PREFIX);
+        this.cache = cache;
+        this.coalescer = coalescer;
     }
 
     @NonNull
@@ -37,10 +44,8 @@ class ItemRequestServiceClient extends BaseClient implements ItemRequestClient {
     @NonNull
     @Override
     public ResponseEntity<Object> getById(@NonNull Long userId, @NonNull Long requestId) {
-        return get(
-                String.format("/%d", requestId),
-                userId
-        );
+        var path = String.format("/%d", requestId);
+        return getCoalesced(path, userId, null, coalescer, () -> getValidated(path, userId, cache));
     }
 
     @NonNull
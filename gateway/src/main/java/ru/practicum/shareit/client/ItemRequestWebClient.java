@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.Map;
+
+import static ru.practicum.shareit.Const.FROM_REQUEST_PARAM;
+import static ru.practicum.shareit.Const.SIZE_REQUEST_PARAM;
+
+@Service
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+class ItemRequestWebClient extends ReactiveBaseClient implements ReactiveItemRequestClient {
+    private static final String API_PREFIX = "/requests";
+
+    public ItemRequestWebClient(WebClient serverWebClient) {
+        super(serverWebClient, API_PREFIX);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addNew(@NonNull Long userId, @NonNull ItemRequestDto request) {
+        return post("", userId, request);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllFor(@NonNull Long userId) {
+        return get("", userId);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@NonNull Long userId, @NonNull Long requestId) {
+        return get(String.format("/%d", requestId), userId);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(@NonNull Long userId, @NonNull Integer from, @NonNull Integer size) {
+        return get(
+                "/all?from={from}&size={size}",
+                userId,
+                Map.of(FROM_REQUEST_PARAM, from,
+                        SIZE_REQUEST_PARAM, size)
+        );
+    }
+}
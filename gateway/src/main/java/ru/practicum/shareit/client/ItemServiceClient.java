@@ -2,24 +2,43 @@ package ru.practicum.shareit.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.configuration.GatewayConfig;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 import static ru.practicum.shareit.Const.*;
 
 @Service
+@Profile(GatewayConfig.SERVLET_PROFILE)
 class ItemServiceClient extends BaseClient implements ItemClient {
     private static final String API_PREFIX = "/items";
 
+    private static final String SEARCH_PATH = "/search";
+    private static final String AVAILABLE_PATH = "/available";
+
+    private final ResponseCache cache;
+    private final RequestCoalescer coalescer;
+    private final ClientGuard searchGuard;
+
     @Autowired
-    public ItemServiceClient(GatewayConfig config, RestTemplateBuilder builder) {
-        super(builder, config.buildServerRoute(API_PREFIX));
+    public ItemServiceClient(GatewayConfig config, RestTemplateBuilder builder, ClientGuards guards, ResponseCache cache, RequestCoalescer coalescer) {
+        super(builder, config, guards.get(ClientGuards.ITEMS), API_PREFIX);
+        this.cache = cache;
+        this.coalescer = coalescer;
+        this.searchGuard = guards.get(ClientGuards.SEARCH);
     }
 
     @NonNull
@@ -36,19 +55,34 @@ class ItemServiceClient extends BaseClient implements ItemClient {
     @NonNull
     @Override
     public ResponseEntity<Object> getItem(@NonNull Long userId, @NonNull Long itemId) {
-        return get("/" + itemId, userId);
+        var path = "/" + itemId;
+        return getCoalesced(path, userId, null, coalescer, () -> getValidated(path, userId, cache));
     }
 
     @NonNull
     @Override
     public ResponseEntity<Object> searchItems(@NonNull String text, @NonNull Integer from, @NonNull Integer size) {
-        return get(
-                "/search?text={text}&from={from}&size={size}",
-                null,
-                Map.of(SEARCH_REQUEST_PARAM, text,
-                        FROM_REQUEST_PARAM, from,
-                        SIZE_REQUEST_PARAM, size)
-        );
+        var path = SEARCH_PATH + "?text={text}&from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(SEARCH_REQUEST_PARAM, text,
+                FROM_REQUEST_PARAM, from,
+                SIZE_REQUEST_PARAM, size);
+        return getCoalesced(path, null, parameters, coalescer, () -> get(path, null, parameters));
+    }
+
+    @NonNull
+    @Override
+    public ResponseEntity<Object> getAvailableItems(@Nullable String text, @NonNull LocalDateTime start, @NonNull LocalDateTime end,
+                                                    @NonNull Integer from, @NonNull Integer size) {
+        var path = AVAILABLE_PATH + "?start={start}&end={end}&from={from}&size={size}";
+        Map<String, Object> parameters = new HashMap<>(Map.of(START_REQUEST_PARAM, start,
+                END_REQUEST_PARAM, end,
+                FROM_REQUEST_PARAM, from,
+                SIZE_REQUEST_PARAM, size));
+        if (text != null) {
+            path += "&text={text}";
+            parameters.put(SEARCH_REQUEST_PARAM, text);
+        }
+        return get(path, null, parameters);
     }
 
     @NonNull
@@ -57,6 +91,11 @@ class ItemServiceClient extends BaseClient implements ItemClient {
         return post("", userId, item);
     }
 
+    @Override
+    public void importItems(@NonNull Long userId, @NonNull MediaType contentType, @NonNull InputStream body, @NonNull HttpServletResponse response) throws IOException {
+        streamPost("/bulk", userId, contentType, MediaType.APPLICATION_NDJSON, body, response);
+    }
+
     @NonNull
     @Override
     public ResponseEntity<Object> updateItem(@NonNull Long userId, @NonNull Long itemId, @NonNull ItemDto item) {
@@ -74,4 +113,9 @@ class ItemServiceClient extends BaseClient implements ItemClient {
     public ResponseEntity<Object> createComment(@NonNull Long userId, @NonNull Long itemId, @NonNull CommentDto comment) {
         return post("/" + itemId + "/comment", userId, comment);
     }
+
+    @Override
+    protected ClientGuard guardFor(String path) {
+        return path.startsWith(SEARCH_PATH) || path.startsWith(AVAILABLE_PATH) ? searchGuard : super.guardFor(path);
+    }
 }
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static ru.practicum.shareit.Const.*;
+
+@Service
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+class ItemWebClient extends ReactiveBaseClient implements ReactiveItemClient {
+    private static final String API_PREFIX = "/items";
+
+    public ItemWebClient(WebClient serverWebClient) {
+        super(serverWebClient, API_PREFIX);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItems(@NonNull Long userId, @NonNull Integer from, @NonNull Integer size) {
+        return get(
+                "?from={from}&size={size}",
+                userId,
+                Map.of(FROM_REQUEST_PARAM, from,
+                        SIZE_REQUEST_PARAM, size)
+        );
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItem(@NonNull Long userId, @NonNull Long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(@NonNull String text, @NonNull Integer from, @NonNull Integer size) {
+        return get(
+                "/search?text={text}&from={from}&size={size}",
+                null,
+                Map.of(SEARCH_REQUEST_PARAM, text,
+                        FROM_REQUEST_PARAM, from,
+                        SIZE_REQUEST_PARAM, size)
+        );
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailableItems(@Nullable String text, @NonNull LocalDateTime start, @NonNull LocalDateTime end,
+                                                                    @NonNull Integer from, @NonNull Integer size) {
+        var path = "/available?start={start}&end={end}&from={from}&size={size}";
+        Map<String, Object> parameters = new HashMap<>(Map.of(START_REQUEST_PARAM, start,
+                END_REQUEST_PARAM, end,
+                FROM_REQUEST_PARAM, from,
+                SIZE_REQUEST_PARAM, size));
+        if (text != null) {
+            path += "&text={text}";
+            parameters.put(SEARCH_REQUEST_PARAM, text);
+        }
+        return get(path, null, parameters);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addItem(@NonNull Long userId, @NonNull ItemDto item) {
+        return post("", userId, item);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(@NonNull Long userId, @NonNull MediaType contentType, @NonNull Flux<DataBuffer> body) {
+        return streamPost("/bulk", userId, contentType, MediaType.APPLICATION_NDJSON, body);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(@NonNull Long userId, @NonNull Long itemId, @NonNull ItemDto item) {
+        return patch("/" + itemId, userId, Map.of(), item);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteItem(@NonNull Long userId, @NonNull Long itemId) {
+        return delete("/" + itemId, userId);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(@NonNull Long userId, @NonNull Long itemId, @NonNull CommentDto comment) {
+        return post("/" + itemId + "/comment", userId, comment);
+    }
+}
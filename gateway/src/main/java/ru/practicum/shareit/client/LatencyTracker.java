@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the last {@code window} calls of one route. The percentile is recomputed every
+ * {@link #REFRESH_EVERY} samples rather than on each read.
+ */
+class LatencyTracker {
+    private static final int REFRESH_EVERY = 16;
+
+    private final long[] samples;
+    private final int percentile;
+    private int next;
+    private long count;
+    private volatile long cachedPercentile = -1;
+
+    LatencyTracker(int window, int percentile) {
+        this.samples = new long[window];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count++;
+        if (count % REFRESH_EVERY == 0) {
+            var size = (int) Math.min(count, samples.length);
+            var sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            cachedPercentile = sorted[Math.min(size - 1, size * percentile / 100)];
+        }
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the tracked percentile in nanoseconds, or -1 before enough samples were recorded.
+     */
+    long getPercentile() {
+        return cachedPercentile;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.configuration.ReactiveGatewayConfig;
+
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.shareit.Const.X_SHARER_USER_ID_HEADER;
+
+/**
+ * WebFlux twin of {@link BaseClient}: server responses are relayed as a stream of buffers with
+ * their status and headers, whatever the status code is.
+ */
+class ReactiveBaseClient {
+    private final WebClient client;
+    private final String prefix;
+
+    ReactiveBaseClient(WebClient client, String prefix) {
+        this.client = client;
+        this.prefix = prefix;
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, @Nullable Long userId) {
+        return get(path, userId, Map.of());
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, @Nullable Long userId, Map<String, Object> parameters) {
+        return exchange(HttpMethod.GET, path, userId, parameters, MediaType.APPLICATION_JSON, null, null, false);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, @Nullable Long userId, T body) {
+        return exchange(HttpMethod.POST, path, userId, Map.of(), MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON, BodyInserters.fromValue(body), false);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, @Nullable Long userId, Map<String, Object> parameters, @Nullable T body) {
+        return exchange(HttpMethod.PATCH, path, userId, parameters, MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON,
+                body == null ? null : BodyInserters.fromValue(body), false);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> delete(String path, @Nullable Long userId) {
+        return exchange(HttpMethod.DELETE, path, userId, Map.of(), MediaType.APPLICATION_JSON, null, null, false);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> streamGet(String path, Long userId, Map<String, Object> parameters, MediaType accept) {
+        return exchange(HttpMethod.GET, path, userId, parameters, accept, null, null, true);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> streamPost(String path, Long userId, MediaType contentType, MediaType accept, Flux<DataBuffer> body) {
+        return exchange(HttpMethod.POST, path, userId, Map.of(), accept, contentType, BodyInserters.fromDataBuffers(body), true);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> exchange(
+            HttpMethod method,
+            String path,
+            @Nullable Long userId,
+            Map<String, Object> parameters,
+            MediaType accept,
+            @Nullable MediaType contentType,
+            @Nullable BodyInserter<?, ? super ClientHttpRequest> body,
+            boolean streaming
+    ) {
+        var request = client.method(method)
+                .uri(prefix + path, parameters)
+                .attributes(attributes -> {
+                    if (streaming) {
+                        attributes.put(ReactiveGatewayConfig.STREAMING_ATTRIBUTE, true);
+                    }
+                })
+                .headers(headers -> {
+                    headers.setAccept(List.of(accept));
+                    if (userId != null) {
+                        headers.set(X_SHARER_USER_ID_HEADER, String.valueOf(userId));
+                    }
+                });
+        WebClient.RequestHeadersSpec<?> spec = body == null ? request : request.contentType(contentType).body(body);
+        return spec.retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(it -> ResponseEntity.status(it.getStatusCodeValue())
+                        .headers(BaseClient.proxyHeaders(it.getHeaders()))
+                        .body(it.getBody()));
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+public interface ReactiveBookingClient {
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> newRequest(@NonNull Long userId, @NonNull Long itemId, @NonNull BookingDto booking);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> changeRequestStatus(@NonNull Long userId, @NonNull Long bookingId, boolean isApproved);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(@NonNull Long userId, @NonNull Long bookingId);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size, @Nullable String after);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequestsForOwner(@NonNull Long userId, @NonNull String state, @NonNull Integer from, @NonNull Integer size, @Nullable String after);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> exportRequests(@NonNull Long userId, @NonNull String state);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> exportRequestsForOwner(@NonNull Long userId, @NonNull String state);
+}
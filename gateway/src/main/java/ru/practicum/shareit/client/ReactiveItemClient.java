@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+
+public interface ReactiveItemClient {
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getItems(@NonNull Long userId, @NonNull Integer from, @NonNull Integer size);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getItem(@NonNull Long userId, @NonNull Long itemId);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(@NonNull String text, @NonNull Integer from, @NonNull Integer size);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getAvailableItems(@Nullable String text, @NonNull LocalDateTime start, @NonNull LocalDateTime end,
+                                                             @NonNull Integer from, @NonNull Integer size);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> addItem(@NonNull Long userId, @NonNull ItemDto item);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> importItems(@NonNull Long userId, @NonNull MediaType contentType, @NonNull Flux<DataBuffer> body);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(@NonNull Long userId, @NonNull Long itemId, @NonNull ItemDto item);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> deleteItem(@NonNull Long userId, @NonNull Long itemId);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> createComment(@NonNull Long userId, @NonNull Long itemId, @NonNull CommentDto comment);
+}
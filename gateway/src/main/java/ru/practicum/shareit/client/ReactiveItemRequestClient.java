@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+public interface ReactiveItemRequestClient {
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> addNew(@NonNull Long userId, @NonNull ItemRequestDto request);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getAllFor(@NonNull Long userId);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getById(@NonNull Long userId, @NonNull Long requestId);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getAll(@NonNull Long userId, @NonNull Integer from, @NonNull Integer size);
+}
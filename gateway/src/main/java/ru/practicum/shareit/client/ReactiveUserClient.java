@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+
+public interface ReactiveUserClient {
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> findAll();
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> getUser(@NonNull Long userId);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> create(@NonNull UserDto user);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(@NonNull Long userId, @NonNull UserDto user);
+
+    @NonNull
+    Mono<ResponseEntity<Flux<DataBuffer>>> deleteUser(@NonNull Long userId);
+}
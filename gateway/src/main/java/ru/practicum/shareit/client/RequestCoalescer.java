@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.RequestDeadline;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical reads share one upstream call: the first caller for a key performs the
+ * request and every caller that arrives while it is in flight receives the same response.
+ */
+@Component
+@Profile(GatewayConfig.SERVLET_PROFILE)
+class RequestCoalescer {
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    RequestCoalescer(MeterRegistry registry) {
+        coalesced = Counter.builder("shareit.gateway.coalesced.requests")
+                .description("Reads answered by an upstream call already in flight")
+                .register(registry);
+    }
+
+    @NonNull
+    ResponseEntity<Object> execute(@NonNull String key, @NonNull Supplier<ResponseEntity<Object>> request) {
+        var own = new CompletableFuture<ResponseEntity<Object>>();
+        var existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return await(existing);
+            } catch (DeadlineExceededException e) {
+                if (!existing.isCompletedExceptionally()) {
+                    throw e;
+                }
+                return request.get();
+            }
+        }
+        try {
+            var response = request.get();
+            own.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Followers wait at most their own remaining deadline. When the leader ran out of its deadline, the
+     * caller retries on its own budget instead of inheriting the failure.
+     */
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> future) {
+        var remaining = RequestDeadline.requireRemainingMillis();
+        try {
+            return remaining.isPresent() ? future.get(remaining.getAsLong(), TimeUnit.MILLISECONDS) : future.join();
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(RequestDeadline.EXCEEDED_MESSAGE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException(RequestDeadline.EXCEEDED_MESSAGE);
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
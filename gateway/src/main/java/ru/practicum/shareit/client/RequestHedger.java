@@ -0,0 +1,145 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.RequestDeadline;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.configuration.ResilienceProperties;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second copy of an idempotent read when the first one is slower than the route's usual
+ * latency percentile, and returns whichever response arrives first. Latency is tracked per route
+ * even while hedging is disabled, so the delays are ready when it is switched on.
+ */
+@Component
+@Profile(GatewayConfig.SERVLET_PROFILE)
+class RequestHedger implements DisposableBean {
+    private final ResilienceProperties.Hedging properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final Counter hedged;
+
+    RequestHedger(ResilienceProperties properties, MeterRegistry registry) {
+        this.properties = properties.getHedging();
+        this.executor = new ThreadPoolExecutor(0, this.properties.getThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("hedge-"));
+        this.hedged = Counter.builder("shareit.gateway.hedged.requests")
+                .description("Reads sent a second time because the first one was slow")
+                .register(registry);
+    }
+
+    ResponseEntity<Object> execute(String route, Supplier<ResponseEntity<Object>> call) {
+        var tracker = trackers.computeIfAbsent(route, it -> new LatencyTracker(properties.getWindow(), properties.getPercentile()));
+        Supplier<ResponseEntity<Object>> timed = RequestDeadline.propagate(() -> {
+            var start = System.nanoTime();
+            try {
+                return call.get();
+            } finally {
+                if (!HedgeAttempt.isCurrentCancelled()) {
+                    tracker.record(System.nanoTime() - start);
+                }
+            }
+        });
+        var delay = tracker.getPercentile();
+        if (!properties.isEnabled() || delay < 0 || tracker.getCount() < properties.getMinSamples()) {
+            return timed.get();
+        }
+        delay = Math.max(properties.getMinDelay().toNanos(), Math.min(properties.getMaxDelay().toNanos(), delay));
+
+        var primary = new HedgeAttempt();
+        CompletableFuture<ResponseEntity<Object>> primaryResult;
+        try {
+            primaryResult = CompletableFuture.supplyAsync(primary.bind(timed), executor);
+        } catch (RejectedExecutionException e) {
+            return timed.get();
+        }
+        try {
+            return primaryResult.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return awaitFirst(primary, primaryResult, timed);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            primary.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Once one attempt succeeds the other is cancelled and its HTTP request aborted, so it does not keep
+     * a connection and an executor thread busy for a response nobody reads.
+     */
+    private ResponseEntity<Object> awaitFirst(HedgeAttempt primary, CompletableFuture<ResponseEntity<Object>> primaryResult,
+                                              Supplier<ResponseEntity<Object>> timed) {
+        var hedge = new HedgeAttempt();
+        CompletableFuture<ResponseEntity<Object>> first;
+        try {
+            var hedgeResult = CompletableFuture.supplyAsync(hedge.bind(timed), executor);
+            hedged.increment();
+            first = new CompletableFuture<>();
+            var failures = new AtomicInteger();
+            race(primaryResult, first, failures, hedge, hedgeResult);
+            race(hedgeResult, first, failures, primary, primaryResult);
+        } catch (RejectedExecutionException e) {
+            first = primaryResult;
+        }
+        try {
+            return first.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            primary.cancel();
+            hedge.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void race(CompletableFuture<ResponseEntity<Object>> attemptResult,
+                             CompletableFuture<ResponseEntity<Object>> first,
+                             AtomicInteger failures,
+                             HedgeAttempt other,
+                             CompletableFuture<ResponseEntity<Object>> otherResult) {
+        attemptResult.whenComplete((response, error) -> {
+            if (error == null) {
+                if (first.complete(response)) {
+                    other.cancel();
+                    otherResult.cancel(false);
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                first.completeExceptionally(error);
+            }
+        });
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof RuntimeException ? (RuntimeException) error : new IllegalStateException(error);
+    }
+}
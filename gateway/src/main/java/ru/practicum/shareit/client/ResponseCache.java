@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.configuration.GatewayConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the last validated server response per user and path, so unchanged reads can be answered
+ * from memory after a cheap conditional request to the server.
+ */
+@Component
+@Profile(GatewayConfig.SERVLET_PROFILE)
+class ResponseCache {
+    private final Map<String, Entry> entries;
+
+    ResponseCache(@Value("${shareit-server.cache.max-entries:10000}") int maxEntries) {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Nullable
+    synchronized Entry get(@NonNull String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(@NonNull String key, @NonNull Entry entry) {
+        entries.put(key, entry);
+    }
+
+    synchronized void evict(@NonNull String key) {
+        entries.remove(key);
+    }
+
+    static String key(@Nullable Long userId, @NonNull String path) {
+        return userId + " " + path;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Entry {
+        private final String eTag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+    }
+}
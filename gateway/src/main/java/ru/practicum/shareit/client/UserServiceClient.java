@@ -2,6 +2,7 @@ package ru.practicum.shareit.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -9,12 +10,13 @@ import ru.practicum.shareit.configuration.GatewayConfig;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
+@Profile(GatewayConfig.SERVLET_PROFILE)
 class UserServiceClient extends BaseClient implements UserClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserServiceClient(GatewayConfig config, RestTemplateBuilder builder) {
-        super(builder, config.buildServerRoute(API_PREFIX));
+    public UserServiceClient(GatewayConfig config, RestTemplateBuilder builder, ClientGuards guards) {
+        super(builder, config, guards.get(ClientGuards.USERS), API_PREFIX);
     }
 
     @NonNull
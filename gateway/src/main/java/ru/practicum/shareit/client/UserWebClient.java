@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Map;
+
+@Service
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+class UserWebClient extends ReactiveBaseClient implements ReactiveUserClient {
+    private static final String API_PREFIX = "/users";
+
+    public UserWebClient(WebClient serverWebClient) {
+        super(serverWebClient, API_PREFIX);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAll() {
+        return get("", null);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUser(@NonNull Long userId) {
+        return get("/" + userId, null);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@NonNull UserDto user) {
+        return post("", null, user);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(@NonNull Long userId, @NonNull UserDto user) {
+        return patch("/" + userId, null, Map.of(), user);
+    }
+
+    @NonNull
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUser(@NonNull Long userId) {
+        return delete("/" + userId, null);
+    }
+}
@@ -1,19 +1,138 @@
 package ru.practicum.shareit.configuration;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.NonNull;
+import ru.practicum.shareit.RequestDeadline;
+import ru.practicum.shareit.client.HedgeAttempt;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All server clients share one pooled HttpClient, so the pool limits and timeouts below bound
+ * the whole gateway rather than each client separately.
+ */
 @Getter
 @Configuration
 @RequiredArgsConstructor
 public class GatewayConfig {
+    public static final String REACTIVE_PROFILE = "reactive";
+    public static final String SERVLET_PROFILE = "!" + REACTIVE_PROFILE;
+    private static final String POOL_METRICS_NAME = "shareit-server";
 
     @Value("${shareit-server.url}")
     private final String serverUrl;
 
+    @Value("${shareit-server.pool.max-total:200}")
+    private final int maxTotal;
+
+    @Value("${shareit-server.pool.max-per-route:200}")
+    private final int maxPerRoute;
+
+    @Value("${shareit-server.pool.connect-timeout:2s}")
+    private final Duration connectTimeout;
+
+    @Value("${shareit-server.pool.read-timeout:30s}")
+    private final Duration readTimeout;
+
+    @Value("${shareit-server.pool.acquire-timeout:1s}")
+    private final Duration acquireTimeout;
+
+    @Value("${shareit-server.pool.keep-alive:30s}")
+    private final Duration keepAlive;
+
+    @Value("${shareit-server.pool.idle-timeout:60s}")
+    private final Duration idleTimeout;
+
+    @Value("${shareit-server.deadline:10s}")
+    private final Duration deadline;
+
     public String buildServerRoute(String path) {
         return serverUrl + path;
     }
+
+    public ClientHttpRequestFactory buildRequestFactory() {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient()) {
+            @Override
+            protected HttpContext createHttpContext(@NonNull HttpMethod httpMethod, @NonNull URI uri) {
+                var remaining = RequestDeadline.remainingMillis();
+                if (remaining.isEmpty()) {
+                    return null;
+                }
+                var context = HttpClientContext.create();
+                context.setRequestConfig(RequestConfig.copy(serverRequestConfig())
+                        .setSocketTimeout((int) Math.max(1, Math.min(remaining.getAsLong(), readTimeout.toMillis())))
+                        .build());
+                return context;
+            }
+
+            @Override
+            protected void postProcessHttpRequest(@NonNull HttpUriRequest request) {
+                HedgeAttempt.register(request);
+            }
+        };
+    }
+
+    public ClientHttpRequestFactory buildStreamingRequestFactory() {
+        var factory = new HttpComponentsClientHttpRequestFactory(serverHttpClient());
+        factory.setBufferRequestBody(false);
+        return factory;
+    }
+
+    @Bean(destroyMethod = "close")
+    @Profile(SERVLET_PROFILE)
+    public PoolingHttpClientConnectionManager serverConnectionManager() {
+        var manager = new PoolingHttpClientConnectionManager();
+        manager.setMaxTotal(maxTotal);
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @Profile(SERVLET_PROFILE)
+    public CloseableHttpClient serverHttpClient() {
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager())
+                .setDefaultRequestConfig(serverRequestConfig())
+                .setKeepAliveStrategy((response, context) -> {
+                    var serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis()) : keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private RequestConfig serverRequestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) acquireTimeout.toMillis())
+                .build();
+    }
+
+    @Bean
+    @Profile(SERVLET_PROFILE)
+    public MeterBinder serverConnectionPoolMetrics() {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager(), POOL_METRICS_NAME);
+    }
 }
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.configuration;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.RequestDeadline;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+
+import static ru.practicum.shareit.Const.X_DEADLINE_HEADER;
+
+/**
+ * Non-blocking runtime of the gateway: Netty serves the WebFlux controllers and a pooled WebClient
+ * talks to the server with the same shareit-server.pool.* limits as the servlet runtime. The caller
+ * deadline, circuit breakers, bulkheads, hedging, request coalescing and the ETag cache are servlet only,
+ * so startup logs a warning naming the settings of those features that this runtime ignores.
+ */
+@Slf4j
+@Configuration
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+@RequiredArgsConstructor
+public class ReactiveGatewayConfig {
+    public static final String STREAMING_ATTRIBUTE = "shareit.streaming";
+    private static final String POOL_NAME = "shareit-server";
+    private static final String RESILIENCE_PREFIX = "shareit-server.resilience";
+    private static final String CACHE_PROPERTY = "shareit-server.cache.max-entries";
+
+    private final GatewayConfig config;
+    private final Environment environment;
+
+    @PostConstruct
+    void warnAboutServletOnlyFeatures() {
+        var ignored = new ArrayList<String>();
+        if (Binder.get(environment).bind(RESILIENCE_PREFIX, ResilienceProperties.class).isBound()) {
+            ignored.add(RESILIENCE_PREFIX + ".*");
+        }
+        if (environment.containsProperty(CACHE_PROPERTY)) {
+            ignored.add(CACHE_PROPERTY);
+        }
+        log.warn("The {} profile does not propagate the caller {} header, coalesce reads or guard server calls; "
+                        + "ignored settings: {}", GatewayConfig.REACTIVE_PROFILE, X_DEADLINE_HEADER,
+                ignored.isEmpty() ? "none" : String.join(", ", ignored));
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider() {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(config.getMaxTotal())
+                .pendingAcquireTimeout(config.getAcquireTimeout())
+                .maxIdleTime(config.getKeepAlive())
+                .evictInBackground(config.getIdleTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient serverWebClient(WebClient.Builder builder) {
+        var httpClient = HttpClient.create(serverConnectionProvider())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis())
+                .responseTimeout(config.getReadTimeout());
+        return builder.baseUrl(config.getServerUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(this::withDeadline)
+                .build();
+    }
+
+    private Mono<ClientResponse> withDeadline(ClientRequest request, ExchangeFunction next) {
+        if (request.attribute(STREAMING_ATTRIBUTE).isPresent()) {
+            return next.exchange(request);
+        }
+        var deadline = config.getDeadline();
+        var withHeader = ClientRequest.from(request)
+                .header(X_DEADLINE_HEADER, String.valueOf(deadline.toMillis()))
+                .build();
+        return next.exchange(withHeader)
+                .timeout(deadline, Mono.error(() -> new DeadlineExceededException(RequestDeadline.EXCEEDED_MESSAGE)));
+    }
+}
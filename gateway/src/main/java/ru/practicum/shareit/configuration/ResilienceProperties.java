@@ -0,0 +1,49 @@
+package ru.practicum.shareit.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bulkhead sizes per client family, e.g. {@code shareit-server.resilience.bulkheads.search=20}, and the
+ * circuit breaker thresholds shared by all families. Each family still gets its own breaker.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+    private int defaultBulkhead = 50;
+    private Map<String, Integer> bulkheads = new HashMap<>();
+    private Duration bulkheadWait = Duration.ofMillis(50);
+    private int windowSize = 50;
+    private int minimumCalls = 20;
+    private int failureRateThreshold = 50;
+    private Duration slowCallDuration = Duration.ofSeconds(2);
+    private int slowCallRateThreshold = 80;
+    private Duration openDuration = Duration.ofSeconds(10);
+    private int halfOpenCalls = 5;
+    private Hedging hedging = new Hedging();
+
+    /**
+     * A GET still running after the {@code percentile} latency of its route is sent once more, and the
+     * first response wins. The delay is clamped to {@code minDelay..maxDelay} and is only used once the
+     * route has {@code minSamples} latencies.
+     */
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+        private int percentile = 95;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private int window = 256;
+        private int minSamples = 50;
+        private int threads = 64;
+    }
+}
@@ -1,19 +1,26 @@
 package ru.practicum.shareit.controller.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.client.BookingClient;
+import ru.practicum.shareit.configuration.GatewayConfig;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Min;
+import java.io.IOException;
 
 import static ru.practicum.shareit.Const.*;
 
 @Controller
+@Profile(GatewayConfig.SERVLET_PROFILE)
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 @Validated
@@ -50,9 +57,10 @@ public class BookingController {
             @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
             @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) @NonNull String state,
             @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
-            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size,
+            @RequestParam(name = AFTER_REQUEST_PARAM, required = false) @Nullable String after
     ) {
-        return client.getAllRequests(userId, state, from, size);
+        return client.getAllRequests(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
@@ -60,8 +68,27 @@ public class BookingController {
             @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
             @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) @NonNull String state,
             @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
-            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size,
+            @RequestParam(name = AFTER_REQUEST_PARAM, required = false) @Nullable String after
     ) {
-        return client.getAllRequestsForOwner(userId, state, from, size);
+        return client.getAllRequestsForOwner(userId, state, from, size, after);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportRequests(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) @NonNull String state,
+            HttpServletResponse response
+    ) throws IOException {
+        client.exportRequests(userId, state, response);
+    }
+
+    @GetMapping(path = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportRequestsForOwner(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) @NonNull String state,
+            HttpServletResponse response
+    ) throws IOException {
+        client.exportRequestsForOwner(userId, state, response);
     }
 }
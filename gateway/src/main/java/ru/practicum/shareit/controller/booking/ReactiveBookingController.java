@@ -0,0 +1,93 @@
+package ru.practicum.shareit.controller.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.client.ReactiveBookingClient;
+import ru.practicum.shareit.configuration.GatewayConfig;
+
+import javax.validation.constraints.Min;
+
+import static ru.practicum.shareit.Const.*;
+
+@Controller
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+@RequiredArgsConstructor
+@RequestMapping(path = "/bookings")
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient client;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addRequest(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestBody @NonNull @Validated BookingDto booking
+    ) {
+        return client.newRequest(userId, booking.getItemId(), booking);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> changeStatus(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @PathVariable(BOOKING_ID_PATH_NAME) @NonNull Long bookingId,
+            @RequestParam("approved") boolean isApproved
+    ) {
+        return client.changeRequestStatus(userId, bookingId, isApproved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @PathVariable(BOOKING_ID_PATH_NAME) @NonNull Long bookingId
+    ) {
+        return client.getRequestById(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) @NonNull String state,
+            @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size,
+            @RequestParam(name = AFTER_REQUEST_PARAM, required = false) @Nullable String after
+    ) {
+        return client.getAllRequests(userId, state, from, size, after);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequestsForOwner(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) @NonNull String state,
+            @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size,
+            @RequestParam(name = AFTER_REQUEST_PARAM, required = false) @Nullable String after
+    ) {
+        return client.getAllRequestsForOwner(userId, state, from, size, after);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportRequests(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) @NonNull String state
+    ) {
+        return client.exportRequests(userId, state);
+    }
+
+    @GetMapping(path = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportRequestsForOwner(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) @NonNull String state
+    ) {
+        return client.exportRequestsForOwner(userId, state);
+    }
+}
@@ -1,21 +1,30 @@
 package ru.practicum.shareit.controller.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.client.ItemClient;
+import ru.practicum.shareit.configuration.GatewayConfig;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CreateItemGroup;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.Const.*;
 
 @Controller
+@Profile(GatewayConfig.SERVLET_PROFILE)
 @RequiredArgsConstructor
 @RequestMapping(path = "/items")
 @Validated
@@ -48,6 +57,17 @@ public class ItemController {
         return client.searchItems(text, from, size);
     }
 
+    @GetMapping("/available")
+    public ResponseEntity<Object> getAvailableItems(
+            @RequestParam(name = START_REQUEST_PARAM) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @NonNull LocalDateTime start,
+            @RequestParam(name = END_REQUEST_PARAM) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @NonNull LocalDateTime end,
+            @RequestParam(name = SEARCH_REQUEST_PARAM, required = false) String text,
+            @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size
+    ) {
+        return client.getAvailableItems(text, start, end, from, size);
+    }
+
     @PostMapping
     public ResponseEntity<Object> addItem(
             @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
@@ -56,6 +76,19 @@ public class ItemController {
         return client.addItem(userId, item);
     }
 
+    @PostMapping(
+            path = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void importItems(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        client.importItems(userId, MediaType.parseMediaType(request.getContentType()), request.getInputStream(), response);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(
             @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.controller.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveItemClient;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CreateItemGroup;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static ru.practicum.shareit.Const.*;
+
+@Controller
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+@RequiredArgsConstructor
+@RequestMapping(path = "/items")
+@Validated
+public class ReactiveItemController {
+    private final ReactiveItemClient client;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItems(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size
+    ) {
+        return client.getItems(userId, from, size);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItem(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @PathVariable @NonNull Long itemId
+    ) {
+        return client.getItem(userId, itemId);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(
+            @RequestParam(name = SEARCH_REQUEST_PARAM) String text,
+            @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size
+    ) {
+        return client.searchItems(text, from, size);
+    }
+
+    @GetMapping("/available")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailableItems(
+            @RequestParam(name = START_REQUEST_PARAM) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @NonNull LocalDateTime start,
+            @RequestParam(name = END_REQUEST_PARAM) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @NonNull LocalDateTime end,
+            @RequestParam(name = SEARCH_REQUEST_PARAM, required = false) String text,
+            @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size
+    ) {
+        return client.getAvailableItems(text, start, end, from, size);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addItem(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestBody @NonNull @Validated(CreateItemGroup.class) ItemDto item
+    ) {
+        return client.addItem(userId, item);
+    }
+
+    @PostMapping(
+            path = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            ServerHttpRequest request
+    ) {
+        var contentType = Objects.requireNonNull(request.getHeaders().getContentType());
+        return client.importItems(userId, contentType, request.getBody());
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @PathVariable("itemId") @NonNull Long itemId,
+            @RequestBody @NonNull ItemDto item
+    ) {
+        return client.updateItem(userId, itemId, item);
+    }
+
+    @DeleteMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteItem(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @PathVariable @NonNull Long itemId
+    ) {
+        return client.deleteItem(userId, itemId);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @PathVariable @NonNull Long itemId,
+            @RequestBody @Validated CommentDto comment
+    ) {
+        return client.createComment(userId, itemId, comment);
+    }
+}
@@ -1,12 +1,14 @@
 package ru.practicum.shareit.controller.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.client.ItemRequestClient;
+import ru.practicum.shareit.configuration.GatewayConfig;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.constraints.Min;
@@ -14,6 +16,7 @@ import javax.validation.constraints.Min;
 import static ru.practicum.shareit.Const.*;
 
 @Controller
+@Profile(GatewayConfig.SERVLET_PROFILE)
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 @Validated
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.controller.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveItemRequestClient;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import javax.validation.constraints.Min;
+
+import static ru.practicum.shareit.Const.*;
+
+@Controller
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+@RequiredArgsConstructor
+@RequestMapping(path = "/requests")
+@Validated
+public class ReactiveItemRequestController {
+    private final ReactiveItemRequestClient client;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addNew(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestBody @NonNull @Validated ItemRequestDto request
+    ) {
+        return client.addNew(userId, request);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllFor(@RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId) {
+        return client.getAllFor(userId);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @PathVariable @NonNull Long requestId
+    ) {
+        return client.getById(userId, requestId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) @NonNull Long userId,
+            @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) @Min(0) @NonNull Integer from,
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) @Min(1) @NonNull Integer size
+    ) {
+        return client.getAll(userId, from, size);
+    }
+}
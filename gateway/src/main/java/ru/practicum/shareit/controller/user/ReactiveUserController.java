@@ -0,0 +1,58 @@
+package ru.practicum.shareit.controller.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveUserClient;
+import ru.practicum.shareit.configuration.GatewayConfig;
+import ru.practicum.shareit.user.dto.CreateUserGroup;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Controller
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+@RequiredArgsConstructor
+@RequestMapping(path = "/users")
+public class ReactiveUserController {
+    private final ReactiveUserClient client;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAll() {
+        return client.findAll();
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUser(
+            @PathVariable("userId") @NonNull Long userId
+    ) {
+        return client.getUser(userId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(
+            @RequestBody @Validated(CreateUserGroup.class) @NonNull UserDto user
+    ) {
+        return client.create(user);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> delete(
+            @PathVariable("userId") @NonNull Long userId
+    ) {
+        return client.deleteUser(userId);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(
+            @PathVariable("userId") @NonNull Long userId,
+            @RequestBody @NonNull UserDto user
+    ) {
+        return client.updateUser(userId, user);
+    }
+}
@@ -1,16 +1,19 @@
 package ru.practicum.shareit.controller.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.client.UserClient;
+import ru.practicum.shareit.configuration.GatewayConfig;
 import ru.practicum.shareit.user.dto.CreateUserGroup;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Controller
+@Profile(GatewayConfig.SERVLET_PROFILE)
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
 public class UserController {
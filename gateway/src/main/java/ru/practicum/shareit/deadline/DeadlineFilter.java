@@ -0,0 +1,52 @@
+package ru.practicum.shareit.deadline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.RequestDeadline;
+import ru.practicum.shareit.configuration.GatewayConfig;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+import static ru.practicum.shareit.Const.X_DEADLINE_HEADER;
+
+/**
+ * Starts the request deadline at shareit-server.deadline, or earlier when the caller sends a smaller
+ * budget in {@link ru.practicum.shareit.Const#X_DEADLINE_HEADER}.
+ */
+@Component
+@Profile(GatewayConfig.SERVLET_PROFILE)
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+    private final GatewayConfig config;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        var budget = Math.min(config.getDeadline().toMillis(),
+                RequestDeadline.parseBudget(request.getHeader(X_DEADLINE_HEADER)).orElse(Long.MAX_VALUE));
+        if (budget <= 0) {
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of("error", RequestDeadline.EXCEEDED_MESSAGE));
+            return;
+        }
+        RequestDeadline.start(budget);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
@@ -7,7 +7,9 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.DeadlineExceededException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 
 import javax.validation.ConstraintViolationException;
@@ -33,6 +35,16 @@ public class DefaultControllerAdvice {
         return new ResponseEntity<>(getCustomBody(ex), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Object> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return new ResponseEntity<>(getCustomBody(ex), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Object> handleDeadlineExceededException(DeadlineExceededException ex) {
+        return new ResponseEntity<>(getCustomBody(ex), HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @NonNull
     private static Map<String, String> getCustomBody(@NonNull RuntimeException e) {
         var message = e.getMessage();
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.configuration.GatewayConfig;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+import static ru.practicum.shareit.Const.X_SHARER_USER_ID_HEADER;
+
+@Component
+@Profile(GatewayConfig.SERVLET_PROFILE)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String ERROR_MESSAGE = "Слишком много запросов, повторите позже";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        var family = RouteFamily.resolve(request.getRequestURI());
+        if (family == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        var userId = request.getHeader(X_SHARER_USER_ID_HEADER);
+        var caller = family.isAnonymous() || userId == null ? request.getRemoteAddr() : userId;
+        var admission = rateLimiter.admit(family, caller);
+        if (admission.isRejected()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of("error", ERROR_MESSAGE));
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            admission.release();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits per route family, e.g. {@code shareit-gateway.rate-limit.routes.items.capacity=100}.
+ * Families without an entry are not limited.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxKeys = 100_000;
+    private Map<String, Limit> routes = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int capacity = 100;
+        private double refillPerSecond = 50;
+        private int maxConcurrent = 20;
+    }
+}
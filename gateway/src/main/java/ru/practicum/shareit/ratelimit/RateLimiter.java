@@ -0,0 +1,127 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token buckets and in-flight quotas keyed by route family and caller. Each bucket is a
+ * single timestamp updated with compare-and-set (the GCRA form of a token bucket), so admission
+ * never takes a lock.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+    private static final Admission UNLIMITED = new Admission(null, 0);
+
+    private final RateLimitProperties properties;
+    private final Map<String, Quota> quotas = new ConcurrentHashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicBoolean sweepPending = new AtomicBoolean();
+
+    @NonNull
+    public Admission admit(@NonNull RouteFamily family, @NonNull String caller) {
+        var limit = properties.getRoutes().get(family.getPropertyName());
+        if (!properties.isEnabled() || limit == null) {
+            return UNLIMITED;
+        }
+        var now = System.nanoTime();
+        var quota = quotas.computeIfAbsent(family.getPropertyName() + ":" + caller, it -> newQuota(limit, now));
+        if (sweepPending.compareAndSet(true, false) && quotas.size() > properties.getMaxKeys()) {
+            evictIdle(now);
+        }
+
+        if (quota.inFlight.incrementAndGet() > quota.maxConcurrent) {
+            quota.inFlight.decrementAndGet();
+            return new Admission(null, 1);
+        }
+        var wait = quota.take(now);
+        if (wait > 0) {
+            quota.inFlight.decrementAndGet();
+            return new Admission(null, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        return new Admission(quota, 0);
+    }
+
+    private Quota newQuota(RateLimitProperties.Limit limit, long now) {
+        if (created.incrementAndGet() % 1024 == 0) {
+            sweepPending.set(true);
+        }
+        return new Quota(limit, now);
+    }
+
+    /**
+     * Only quotas whose bucket has been full for a whole burst are dropped, so a caller that races with
+     * the sweep and gets a fresh bucket gains nothing it did not already have.
+     */
+    private void evictIdle(long now) {
+        quotas.forEach((key, quota) -> {
+            if (quota.isIdle(now)) {
+                quotas.remove(key, quota);
+            }
+        });
+    }
+
+    public static class Admission {
+        private final Quota quota;
+        private final long retryAfterSeconds;
+
+        private Admission(Quota quota, long retryAfterSeconds) {
+            this.quota = quota;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public boolean isRejected() {
+            return retryAfterSeconds > 0;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void release() {
+            if (quota != null) {
+                quota.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static class Quota {
+        private final long interval;
+        private final long burst;
+        private final int maxConcurrent;
+        private final AtomicLong theoreticalArrival;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        Quota(RateLimitProperties.Limit limit, long now) {
+            interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond());
+            burst = interval * limit.getCapacity();
+            maxConcurrent = limit.getMaxConcurrent();
+            theoreticalArrival = new AtomicLong(now);
+        }
+
+        long take(long now) {
+            while (true) {
+                var current = theoreticalArrival.get();
+                var next = Math.max(current, now) + interval;
+                if (next - now > burst) {
+                    return next - now - burst;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isIdle(long now) {
+            return inFlight.get() == 0 && now - theoreticalArrival.get() >= burst;
+        }
+    }
+}
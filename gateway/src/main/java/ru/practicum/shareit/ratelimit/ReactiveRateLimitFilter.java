@@ -0,0 +1,55 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.configuration.GatewayConfig;
+
+import java.util.Map;
+
+import static ru.practicum.shareit.Const.X_SHARER_USER_ID_HEADER;
+
+@Component
+@Profile(GatewayConfig.REACTIVE_PROFILE)
+@RequiredArgsConstructor
+public class ReactiveRateLimitFilter implements WebFilter {
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @NonNull
+    @Override
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        var request = exchange.getRequest();
+        var family = RouteFamily.resolve(request.getPath().value());
+        if (family == null) {
+            return chain.filter(exchange);
+        }
+        var userId = request.getHeaders().getFirst(X_SHARER_USER_ID_HEADER);
+        var address = request.getRemoteAddress();
+        var remote = address == null ? "" : address.getHostString();
+        var admission = rateLimiter.admit(family, family.isAnonymous() || userId == null ? remote : userId);
+        if (admission.isRejected()) {
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSeconds()));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.fromCallable(() -> response.bufferFactory().wrap(errorBody())));
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> admission.release());
+    }
+
+    private byte[] errorBody() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Map.of("error", RateLimitFilter.ERROR_MESSAGE));
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum RouteFamily {
+    SEARCH("/items/search", true),
+    AVAILABLE("/items/available", true),
+    ITEMS("/items", false),
+    USERS("/users", false),
+    REQUESTS("/requests", false),
+    BOOKINGS("/bookings", false);
+
+    private final String prefix;
+    private final boolean anonymous;
+
+    public String getPropertyName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    @Nullable
+    public static RouteFamily resolve(String path) {
+        for (var family : values()) {
+            if (path.equals(family.prefix) || path.startsWith(family.prefix + "/")) {
+                return family;
+            }
+        }
+        return null;
+    }
+}
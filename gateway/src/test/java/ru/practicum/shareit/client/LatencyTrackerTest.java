@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyTrackerTest {
+
+    @Test
+    void percentileShouldCoverWindowOnly() {
+        var tracker = new LatencyTracker(16, 50);
+        for (int i = 1; i <= 32; i++) {
+            tracker.record(i);
+        }
+
+        assertEquals(32, tracker.getCount());
+        assertEquals(25, tracker.getPercentile());
+    }
+
+    @Test
+    void recordShouldKeepWorkingPastIntRange() {
+        var tracker = new LatencyTracker(16, 50);
+        ReflectionTestUtils.setField(tracker, "count", (long) Integer.MAX_VALUE - 15);
+        for (int i = 1; i <= 32; i++) {
+            tracker.record(i);
+        }
+
+        assertTrue(tracker.getCount() > Integer.MAX_VALUE);
+        assertEquals(25, tracker.getPercentile());
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.configuration.ResilienceProperties;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+    private static final String ROUTE = "items";
+
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ResilienceProperties();
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setMinSamples(16);
+        properties.getHedging().setMinDelay(Duration.ofMillis(10));
+        properties.getHedging().setMaxDelay(Duration.ofMillis(10));
+        properties.getHedging().setThreads(4);
+        hedger = new RequestHedger(properties, new SimpleMeterRegistry());
+        for (int i = 0; i < 16; i++) {
+            hedger.execute(ROUTE, () -> ResponseEntity.ok("warm-up"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedger.destroy();
+    }
+
+    @Test
+    void executeShouldAbortLosingAttempt() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var slowRequest = new HttpGet("http://localhost/items/1");
+        var aborted = new CountDownLatch(1);
+
+        var response = hedger.execute(ROUTE, () -> {
+            if (calls.incrementAndGet() == 1) {
+                HedgeAttempt.register(slowRequest);
+                while (!slowRequest.isAborted()) {
+                    Thread.onSpinWait();
+                }
+                aborted.countDown();
+                throw new IllegalStateException("aborted");
+            }
+            return ResponseEntity.ok("hedge");
+        });
+
+        assertEquals("hedge", response.getBody());
+        assertTrue(aborted.await(1, TimeUnit.SECONDS));
+        assertTrue(slowRequest.isAborted());
+    }
+
+    @Test
+    void executeShouldNotHedgeFastCalls() {
+        var calls = new AtomicInteger();
+
+        var response = hedger.execute(ROUTE, () -> ResponseEntity.ok("call " + calls.incrementAndGet()));
+
+        assertEquals("call 1", response.getBody());
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Loads the gateway the way docker-compose starts it, with no active profile.
+ */
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        properties = {
+                "spring.profiles.active=",
+                "GATEWAY_PORT=8080",
+                "SHAREIT_SERVER_URL=http://localhost:9090"
+        }
+)
+class GatewayConfigDefaultProfileTest {
+    private final MockMvc mvc;
+    private final MeterRegistry meterRegistry;
+    private final GatewayConfig gatewayConfig;
+    private final ResilienceProperties resilienceProperties;
+
+    @Test
+    void poolMetricsShouldBeExposedWithoutProfile() throws Exception {
+        assertEquals(200, gatewayConfig.getMaxTotal());
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server")
+                .gauge());
+
+        mvc.perform(get("/actuator/metrics/httpcomponents.httpclient.pool.total.max"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void resilienceSettingsShouldApplyWithoutProfile() {
+        assertEquals(Duration.ofSeconds(10), gatewayConfig.getDeadline());
+        assertEquals(60, resilienceProperties.getBulkheads().get("items"));
+        assertEquals(30, resilienceProperties.getBulkheads().get("search"));
+        assertEquals(64, resilienceProperties.getHedging().getThreads());
+    }
+}
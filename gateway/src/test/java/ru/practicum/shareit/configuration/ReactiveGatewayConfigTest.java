@@ -0,0 +1,33 @@
+package ru.practicum.shareit.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ReactiveGatewayConfigTest {
+
+    @Test
+    void startupWithServletOnlySettingsShouldWarnAboutIgnoredSettings(CapturedOutput output) {
+        var environment = new MockEnvironment()
+                .withProperty("shareit-server.resilience.bulkheads.items", "60")
+                .withProperty("shareit-server.cache.max-entries", "10000");
+
+        new ReactiveGatewayConfig(mock(GatewayConfig.class), environment).warnAboutServletOnlyFeatures();
+
+        assertTrue(output.getOut().contains("ignored settings: shareit-server.resilience.*, shareit-server.cache.max-entries"));
+    }
+
+    @Test
+    void startupWithoutServletOnlySettingsShouldStillWarnAboutMissingFeatures(CapturedOutput output) {
+        new ReactiveGatewayConfig(mock(GatewayConfig.class), new MockEnvironment()).warnAboutServletOnlyFeatures();
+
+        assertTrue(output.getOut().contains("does not propagate the caller X-Deadline-Ms header"));
+        assertTrue(output.getOut().contains("ignored settings: none"));
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads the gateway the way docker-compose starts it, with no active profile.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.profiles.active=",
+                "GATEWAY_PORT=8080",
+                "SHAREIT_SERVER_URL=http://localhost:9090"
+        }
+)
+class RateLimiterDefaultProfileTest {
+    private final Environment environment;
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+
+    @Test
+    void routeLimitsShouldApplyWithoutProfile() {
+        assertEquals(0, environment.getActiveProfiles().length);
+        for (var family : RouteFamily.values()) {
+            assertTrue(properties.getRoutes().containsKey(family.getPropertyName()), family.name());
+        }
+
+        var limit = properties.getRoutes().get(RouteFamily.USERS.getPropertyName());
+        var admitted = new ArrayList<RateLimiter.Admission>();
+        RateLimiter.Admission admission;
+        do {
+            admission = rateLimiter.admit(RouteFamily.USERS, "1");
+            admitted.add(admission);
+        } while (!admission.isRejected() && admitted.size() <= limit.getMaxConcurrent());
+
+        assertTrue(admission.isRejected());
+        assertEquals(limit.getMaxConcurrent() + 1, admitted.size());
+        admitted.forEach(RateLimiter.Admission::release);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.springframework.lang.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Approved bookings per item, answering "is the item free between start and end" without a query.
+ * Intervals are half-open, so a booking ending at {@code start} does not make the item busy.
+ */
+public interface AvailabilityIndex {
+    String INDEX_PROPERTY = "shareit.availability.index";
+
+    void add(long itemId, long bookingId, @NonNull LocalDateTime start, @NonNull LocalDateTime end);
+
+    void remove(long itemId, long bookingId);
+
+    /**
+     * Drops every booking of the item, e.g. once the item and its bookings were deleted.
+     */
+    void removeItem(long itemId);
+
+    boolean isFree(long itemId, @NonNull LocalDateTime start, @NonNull LocalDateTime end);
+
+    @NonNull
+    default List<Long> filterFree(@NonNull List<Long> itemIds, @NonNull LocalDateTime start, @NonNull LocalDateTime end) {
+        return itemIds.stream()
+                .filter(itemId -> isFree(itemId, start, end))
+                .collect(Collectors.toList());
+    }
+
+    void clear();
+
+    /**
+     * Whether the index already holds exactly the approved bookings described, so the startup rebuild can be skipped.
+     */
+    default boolean isCurrent(long approvedCount, long lastApprovedId) {
+        return false;
+    }
+}
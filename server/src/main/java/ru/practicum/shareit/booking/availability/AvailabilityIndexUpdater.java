@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads approved bookings into the {@link AvailabilityIndex} on startup, unless a persistent index
+ * already matches them, and applies status changes and deletes once they are committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndexUpdater {
+    private static final String OWNED_ITEMS_QUERY = "SELECT item_id FROM item_table WHERE item_owner_id = ?";
+    private static final String BOOKER_BOOKINGS_QUERY = "SELECT booking_item_id, booking_id FROM booking_table " +
+            "WHERE booking_booker_id = ? AND booking_status = 'APPROVED'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AvailabilityIndex index;
+    @Nullable
+    private List<Runnable> changedDuringRebuild;
+
+    /**
+     * Changes committed while the snapshot is read are recorded and replayed on top of it, so neither
+     * {@link AvailabilityIndex#clear()} nor a row read before the change can lose them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            var fingerprint = jdbcTemplate.queryForMap(
+                    "SELECT COUNT(*) AS approved, COALESCE(MAX(booking_id), 0) AS last_id FROM booking_table " +
+                            "WHERE booking_status = 'APPROVED'");
+            var approved = ((Number) fingerprint.get("approved")).longValue();
+            var lastId = ((Number) fingerprint.get("last_id")).longValue();
+            if (index.isCurrent(approved, lastId)) {
+                log.info("Availability index reused with {} approved bookings", approved);
+                return;
+            }
+            index.clear();
+            var count = new long[1];
+            jdbcTemplate.query(
+                    "SELECT booking_item_id, booking_id, booking_start_date, booking_end_date FROM booking_table " +
+                            "WHERE booking_status = 'APPROVED'",
+                    rs -> {
+                        index.add(rs.getLong(1), rs.getLong(2),
+                                rs.getTimestamp(3).toLocalDateTime(), rs.getTimestamp(4).toLocalDateTime());
+                        count[0]++;
+                    }
+            );
+            synchronized (this) {
+                changedDuringRebuild.forEach(Runnable::run);
+            }
+            log.info("Availability index rebuilt with {} approved bookings", count[0]);
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Status changes only move bookings out of WAITING, so a booking that ends up in any other status
+     * was never in the index and there is nothing to remove.
+     */
+    public void onStatusChanged(@NonNull Booking booking) {
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            var itemId = booking.getItem().getId();
+            afterCommit(() -> index.add(itemId, booking.getId(), booking.getStart(), booking.getEnd()));
+        }
+    }
+
+    /**
+     * Deleting an item cascades to its bookings in the database.
+     */
+    public void onItemDeleted(long itemId) {
+        afterCommit(() -> index.removeItem(itemId));
+    }
+
+    /**
+     * Deleting a user cascades to their items and to the bookings they made, so both are looked up before
+     * {@code delete} runs and dropped from the index once it has committed.
+     */
+    public void deleteUser(long userId, @NonNull Runnable delete) {
+        var ownedItems = jdbcTemplate.queryForList(OWNED_ITEMS_QUERY, Long.class, userId);
+        var bookings = jdbcTemplate.query(BOOKER_BOOKINGS_QUERY, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, userId);
+        delete.run();
+        afterCommit(() -> {
+            ownedItems.forEach(index::removeItem);
+            bookings.forEach(it -> index.remove(it[0], it[1]));
+        });
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable action = () -> apply(change);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable change) {
+        change.run();
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(change);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Off-heap index for large catalogues. Every item owns a fixed-width row of day bits in a memory-mapped
+ * file, addressed by item id, so the heap holds no per-item state. A range is checked by ANDing its day
+ * mask with the row one 64-day word at a time.
+ *
+ * <p>Days are coarser than bookings: a conflict found only on the first or last day of the range is
+ * confirmed with a query, as is any range outside the mapped window or any item id too large to map.
+ * Rows are created before a booking is marked, so items past the mapped rows are free. The file header
+ * keeps a fingerprint of the approved bookings it holds and whether it was closed cleanly, which lets a
+ * restart skip the rebuild. The file is locked while open, so two servers cannot share it.
+ *
+ * <p>Words are written and read through a volatile {@link VarHandle}, so a reader sees every row change
+ * made before it. Once half the window has passed, the window is moved to start today and reloaded in the
+ * background. Ranges are checked with queries while that runs.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = AvailabilityIndex.INDEX_PROPERTY, havingValue = "bitmap")
+public class DayBitmapAvailabilityIndex implements AvailabilityIndex, DisposableBean {
+    private static final int MAGIC = 0x53484156;
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int DAYS_OFFSET = 8;
+    private static final int CLEAN_OFFSET = 12;
+    private static final int BASE_DAY_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 24;
+    private static final int COUNT_OFFSET = 32;
+    private static final int LAST_ID_OFFSET = 40;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final String OVERLAP_QUERY = "SELECT COUNT(*) FROM booking_table " +
+            "WHERE booking_item_id = ? AND booking_status = 'APPROVED' AND booking_start_date < ? AND booking_end_date > ?";
+    private static final String ITEM_BOOKINGS_QUERY = "SELECT booking_start_date, booking_end_date FROM booking_table " +
+            "WHERE booking_item_id = ? AND booking_status = 'APPROVED'";
+    private static final String APPROVED_BOOKINGS_QUERY = "SELECT booking_item_id, booking_id, booking_start_date, booking_end_date " +
+            "FROM booking_table WHERE booking_status = 'APPROVED'";
+    private static final VarHandle WORD = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path file;
+    private final int days;
+    private final int words;
+    private final int rowBytes;
+    private final long maxCapacity;
+    private final boolean reusable;
+    private final ExecutorService rebaser = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("availability-rebase-"));
+    private final AtomicBoolean rebasePending = new AtomicBoolean();
+    private FileChannel channel;
+    private FileLock lock;
+    private volatile MappedByteBuffer buffer;
+    private volatile long generation;
+    private volatile boolean consistent = true;
+
+    public DayBitmapAvailabilityIndex(JdbcTemplate jdbcTemplate,
+                                      @Value("${shareit.availability.bitmap.file:}") String file,
+                                      @Value("${shareit.availability.bitmap.days:1024}") int days) {
+        if (file.isBlank()) {
+            throw new IllegalStateException("shareit.availability.bitmap.file must be set for the bitmap availability index");
+        }
+        if (days <= 0 || days % Long.SIZE != 0) {
+            throw new IllegalArgumentException("shareit.availability.bitmap.days must be a positive multiple of 64");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.file = Path.of(file);
+        this.days = days;
+        this.words = days / Long.SIZE;
+        this.rowBytes = words * Long.BYTES;
+        this.maxCapacity = (Integer.MAX_VALUE - HEADER_SIZE) / rowBytes;
+        this.reusable = open();
+    }
+
+    @Override
+    public synchronized void add(long itemId, long bookingId, @NonNull LocalDateTime start, @NonNull LocalDateTime end) {
+        mark(itemId, start, end);
+        buffer.putLong(COUNT_OFFSET, buffer.getLong(COUNT_OFFSET) + 1);
+        buffer.putLong(LAST_ID_OFFSET, Math.max(buffer.getLong(LAST_ID_OFFSET), bookingId));
+    }
+
+    /**
+     * Bits may be shared with other bookings of the same day, so the item's whole row is rebuilt.
+     */
+    @Override
+    public void remove(long itemId, long bookingId) {
+        removeItem(itemId);
+    }
+
+    /**
+     * The row is rebuilt from the bookings left in the database. The new row is built aside and written over
+     * the old one word by word, so readers never see it empty.
+     */
+    @Override
+    public synchronized void removeItem(long itemId) {
+        if (itemId >= capacity()) {
+            return;
+        }
+        var baseDay = buffer.getLong(BASE_DAY_OFFSET);
+        var bits = new long[words];
+        jdbcTemplate.query(ITEM_BOOKINGS_QUERY,
+                rs -> {
+                    setDays(bits, baseDay, rs.getTimestamp(1).toLocalDateTime(), rs.getTimestamp(2).toLocalDateTime());
+                },
+                itemId);
+        var row = rowOffset(itemId);
+        for (int i = 0; i < words; i++) {
+            WORD.setVolatile(buffer, row + i * Long.BYTES, bits[i]);
+        }
+    }
+
+    @Override
+    public boolean isFree(long itemId, @NonNull LocalDateTime start, @NonNull LocalDateTime end) {
+        return filterFree(List.of(itemId), start, end).size() == 1;
+    }
+
+    /**
+     * A rebase that started while the rows were read invalidates the answer, which is then taken from the database.
+     */
+    @NonNull
+    @Override
+    public List<Long> filterFree(@NonNull List<Long> itemIds, @NonNull LocalDateTime start, @NonNull LocalDateTime end) {
+        var observed = generation;
+        if (consistent) {
+            var view = buffer;
+            var baseDay = (long) WORD.getVolatile(view, BASE_DAY_OFFSET);
+            if (LocalDate.now().toEpochDay() - baseDay >= days / 2) {
+                scheduleRebase();
+            }
+            var free = filterFreeInBitmap(view, baseDay, itemIds, start, end);
+            if (free != null && generation == observed) {
+                return free;
+            }
+        } else {
+            scheduleRebase();
+        }
+        var free = new ArrayList<Long>(itemIds.size());
+        for (var itemId : itemIds) {
+            if (isFreeInDatabase(itemId, start, end)) {
+                free.add(itemId);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Returns null when the range is outside the mapped window.
+     */
+    @Nullable
+    private List<Long> filterFreeInBitmap(MappedByteBuffer view, long baseDay, List<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        var first = start.toLocalDate().toEpochDay() - baseDay;
+        var last = lastDay(end) - baseDay;
+        if (first < 0 || last >= days) {
+            return null;
+        }
+        var capacity = (view.limit() - HEADER_SIZE) / rowBytes;
+        var free = new ArrayList<Long>(itemIds.size());
+        var firstWord = (int) (first / Long.SIZE);
+        var lastWord = (int) (last / Long.SIZE);
+        var inner = mask(first + 1, last - 1, words);
+        var edges = mask(first, first, words);
+        edges[(int) (last / Long.SIZE)] |= 1L << (last % Long.SIZE);
+        for (var itemId : itemIds) {
+            if (itemId >= maxCapacity) {
+                if (isFreeInDatabase(itemId, start, end)) {
+                    free.add(itemId);
+                }
+                continue;
+            }
+            if (itemId >= capacity) {
+                free.add(itemId);
+                continue;
+            }
+            var row = rowOffset(itemId);
+            long busyInside = 0;
+            long busyAtEdge = 0;
+            for (int i = firstWord; i <= lastWord; i++) {
+                var bits = (long) WORD.getVolatile(view, row + i * Long.BYTES);
+                busyInside |= bits & inner[i];
+                busyAtEdge |= bits & edges[i];
+            }
+            if (busyInside == 0 && (busyAtEdge == 0 || isFreeInDatabase(itemId, start, end))) {
+                free.add(itemId);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Rows are zeroed in place: truncating the file under a mapping that readers may still hold is unsafe.
+     */
+    @Override
+    public synchronized void clear() {
+        var end = HEADER_SIZE + (int) capacity() * rowBytes;
+        for (int offset = HEADER_SIZE; offset < end; offset += Long.BYTES) {
+            WORD.setVolatile(buffer, offset, 0L);
+        }
+        writeHeader(LocalDate.now().toEpochDay());
+    }
+
+    @Override
+    public boolean isCurrent(long approvedCount, long lastApprovedId) {
+        var view = buffer;
+        var baseDay = view.getLong(BASE_DAY_OFFSET);
+        return reusable
+                && LocalDate.now().toEpochDay() - baseDay < days / 2
+                && view.getLong(COUNT_OFFSET) == approvedCount
+                && view.getLong(LAST_ID_OFFSET) == lastApprovedId;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        rebaser.shutdownNow();
+        close();
+    }
+
+    private synchronized void close() throws IOException {
+        buffer.putInt(CLEAN_OFFSET, 1);
+        buffer.force();
+        lock.release();
+        channel.close();
+    }
+
+    private boolean open() {
+        try {
+            var parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            lock = tryLock();
+            if (lock == null) {
+                channel.close();
+                throw new IllegalStateException(String.format("Availability bitmap %1$s is used by another process", file));
+            }
+            var reuse = false;
+            if (channel.size() >= HEADER_SIZE) {
+                var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                var capacity = header.getLong(CAPACITY_OFFSET);
+                reuse = header.getInt(0) == MAGIC
+                        && header.getInt(4) == FORMAT
+                        && header.getInt(DAYS_OFFSET) == days
+                        && header.getInt(CLEAN_OFFSET) == 1
+                        && capacity > 0 && capacity <= maxCapacity
+                        && channel.size() == HEADER_SIZE + capacity * rowBytes;
+                if (reuse) {
+                    map(capacity);
+                }
+            }
+            if (!reuse) {
+                channel.truncate(0);
+                map(INITIAL_CAPACITY);
+                writeHeader(LocalDate.now().toEpochDay());
+            }
+            buffer.putInt(CLEAN_OFFSET, 0);
+            buffer.force();
+            log.info("Availability bitmap {} opened with capacity {} items", file, capacity());
+            return reuse;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nullable
+    private FileLock tryLock() throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private void map(long capacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity * rowBytes);
+        buffer.putLong(CAPACITY_OFFSET, capacity);
+    }
+
+    private void writeHeader(long baseDay) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT);
+        buffer.putInt(DAYS_OFFSET, days);
+        WORD.setVolatile(buffer, BASE_DAY_OFFSET, baseDay);
+        buffer.putLong(COUNT_OFFSET, 0);
+        buffer.putLong(LAST_ID_OFFSET, 0);
+    }
+
+    private void mark(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (itemId >= maxCapacity) {
+            return;
+        }
+        ensureCapacity(itemId);
+        var range = new long[words];
+        setDays(range, buffer.getLong(BASE_DAY_OFFSET), start, end);
+        var row = rowOffset(itemId);
+        for (int i = 0; i < words; i++) {
+            if (range[i] != 0) {
+                var offset = row + i * Long.BYTES;
+                WORD.setVolatile(buffer, offset, buffer.getLong(offset) | range[i]);
+            }
+        }
+    }
+
+    private void scheduleRebase() {
+        if (rebasePending.compareAndSet(false, true)) {
+            try {
+                rebaser.execute(this::rebase);
+            } catch (RejectedExecutionException e) {
+                rebasePending.set(false);
+            }
+        }
+    }
+
+    /**
+     * Bookings reaching past the old window were clipped when marked, so the rows are reloaded rather than
+     * shifted. Writers wait on the lock until the reload ends, so no approval committed meanwhile is lost.
+     */
+    private synchronized void rebase() {
+        consistent = false;
+        generation++;
+        try {
+            clear();
+            jdbcTemplate.query(APPROVED_BOOKINGS_QUERY,
+                    rs -> {
+                        add(rs.getLong(1), rs.getLong(2), rs.getTimestamp(3).toLocalDateTime(), rs.getTimestamp(4).toLocalDateTime());
+                    });
+            consistent = true;
+            log.info("Availability bitmap {} rebased to {}", file, LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Availability bitmap {} could not be rebased, ranges are checked in the database", file, e);
+        } finally {
+            rebasePending.set(false);
+        }
+    }
+
+    /**
+     * Sets the bits of the days a booking takes, clipped to the mapped window.
+     */
+    private void setDays(long[] bits, long baseDay, LocalDateTime start, LocalDateTime end) {
+        var first = Math.max(0, start.toLocalDate().toEpochDay() - baseDay);
+        var last = Math.min(days - 1, lastDay(end) - baseDay);
+        for (var day = first; day <= last; day++) {
+            bits[(int) (day / Long.SIZE)] |= 1L << (day % Long.SIZE);
+        }
+    }
+
+    private void ensureCapacity(long itemId) {
+        var capacity = capacity();
+        if (itemId < capacity) {
+            return;
+        }
+        var grown = Math.min(maxCapacity, Math.max(itemId + 1, capacity * 2));
+        try {
+            buffer.force();
+            map(grown);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isFreeInDatabase(long itemId, LocalDateTime start, LocalDateTime end) {
+        var count = jdbcTemplate.queryForObject(OVERLAP_QUERY, Long.class, itemId, end, start);
+        return count == null || count == 0;
+    }
+
+    private long capacity() {
+        return buffer.getLong(CAPACITY_OFFSET);
+    }
+
+    private int rowOffset(long itemId) {
+        return (int) (HEADER_SIZE + itemId * rowBytes);
+    }
+
+    /**
+     * The end is exclusive, so a booking ending at midnight does not take the following day.
+     */
+    private static long lastDay(LocalDateTime end) {
+        var day = end.toLocalDate().toEpochDay();
+        return end.toLocalTime().equals(LocalTime.MIDNIGHT) ? day - 1 : day;
+    }
+
+    private static long[] mask(long first, long last, int words) {
+        var mask = new long[words];
+        for (var day = first; day <= last; day++) {
+            mask[(int) (day / Long.SIZE)] |= 1L << (day % Long.SIZE);
+        }
+        return mask;
+    }
+}
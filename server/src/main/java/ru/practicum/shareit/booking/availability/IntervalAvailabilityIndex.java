@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Keeps the approved bookings of each item sorted by start. Approved bookings of one item never
+ * overlap, so only the last booking starting before {@code end} can intersect a range, and a lookup
+ * is a single {@link NavigableSet#lower} call.
+ */
+@Component
+@ConditionalOnProperty(name = AvailabilityIndex.INDEX_PROPERTY, havingValue = "interval", matchIfMissing = true)
+public class IntervalAvailabilityIndex implements AvailabilityIndex {
+    private final Map<Long, NavigableSet<Span>> calendars = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(long itemId, long bookingId, @NonNull LocalDateTime start, @NonNull LocalDateTime end) {
+        calendars.compute(itemId, (id, spans) -> {
+            var calendar = spans == null ? new ConcurrentSkipListSet<>(Span.ORDER) : spans;
+            calendar.add(new Span(start, bookingId, end));
+            return calendar;
+        });
+    }
+
+    @Override
+    public void remove(long itemId, long bookingId) {
+        calendars.computeIfPresent(itemId, (id, spans) -> {
+            spans.removeIf(it -> it.bookingId == bookingId);
+            return spans.isEmpty() ? null : spans;
+        });
+    }
+
+    @Override
+    public void removeItem(long itemId) {
+        calendars.remove(itemId);
+    }
+
+    @Override
+    public boolean isFree(long itemId, @NonNull LocalDateTime start, @NonNull LocalDateTime end) {
+        var spans = calendars.get(itemId);
+        if (spans == null) {
+            return true;
+        }
+        var last = spans.lower(new Span(end, Long.MIN_VALUE, end));
+        return last == null || !last.end.isAfter(start);
+    }
+
+    @Override
+    public void clear() {
+        calendars.clear();
+    }
+
+    @AllArgsConstructor
+    private static class Span {
+        static final Comparator<Span> ORDER = Comparator.<Span, LocalDateTime>comparing(it -> it.start)
+                .thenComparingLong(it -> it.bookingId);
+
+        final LocalDateTime start;
+        final long bookingId;
+        final LocalDateTime end;
+    }
+}
@@ -1,16 +1,26 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.Utils;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingCursorMapper;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,6 +31,7 @@ import static ru.practicum.shareit.Const.*;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto addRequest(
@@ -50,31 +61,88 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllRequests(
+    public ResponseEntity<List<BookingDto>> getAllRequests(
             @RequestHeader(X_SHARER_USER_ID_HEADER) long userId,
             @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) String state,
             @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) Integer from,
-            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) Integer size
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) Integer size,
+            @RequestParam(name = AFTER_REQUEST_PARAM, required = false) String after
     ) {
-        return bookingService.getAllRequests(userId, asBookingState(state), Utils.newPage(from, size))
-                .stream()
-                .map(BookingMapper::mapToDto)
-                .collect(Collectors.toList());
+        if (after == null) {
+            return ResponseEntity.ok(mapToDto(bookingService.getAllRequests(userId, asBookingState(state), Utils.newPage(from, size))));
+        }
+        return asKeysetPage(bookingService.getAllRequests(userId, asBookingState(state), asBookingCursor(after), size), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllRequestsForOwner(
+    public ResponseEntity<List<BookingDto>> getAllRequestsForOwner(
             @RequestHeader(X_SHARER_USER_ID_HEADER) long userId,
             @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) String state,
             @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = DEFAULT_FROM_VALUE) Integer from,
-            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) Integer size
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_SIZE_VALUE) Integer size,
+            @RequestParam(name = AFTER_REQUEST_PARAM, required = false) String after
     ) {
-        return bookingService.getAllRequestsForOwner(userId, asBookingState(state), Utils.newPage(from, size))
-                .stream()
+        if (after == null) {
+            return ResponseEntity.ok(mapToDto(bookingService.getAllRequestsForOwner(userId, asBookingState(state), Utils.newPage(from, size))));
+        }
+        return asKeysetPage(bookingService.getAllRequestsForOwner(userId, asBookingState(state), asBookingCursor(after), size), size);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportAllRequests(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) long userId,
+            @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) String state,
+            HttpServletResponse response
+    ) throws IOException {
+        var bookingState = asBookingState(state);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        var out = response.getOutputStream();
+        bookingService.exportAllRequests(userId, bookingState, it -> writeLine(out, it));
+        response.flushBuffer();
+    }
+
+    @GetMapping(path = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportAllRequestsForOwner(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) long userId,
+            @RequestParam(name = STATE_REQUEST_PARAM, required = false, defaultValue = DEFAULT_STATE_VALUE) String state,
+            HttpServletResponse response
+    ) throws IOException {
+        var bookingState = asBookingState(state);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        var out = response.getOutputStream();
+        bookingService.exportAllRequestsForOwner(userId, bookingState, it -> writeLine(out, it));
+        response.flushBuffer();
+    }
+
+    private void writeLine(ServletOutputStream out, Booking booking) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(BookingMapper.mapToDto(booking)));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<BookingDto> mapToDto(List<Booking> bookings) {
+        return bookings.stream()
                 .map(BookingMapper::mapToDto)
                 .collect(Collectors.toList());
     }
 
+    private static ResponseEntity<List<BookingDto>> asKeysetPage(List<Booking> bookings, int size) {
+        var response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            var cursor = BookingCursorMapper.map(bookings.get(bookings.size() - 1));
+            response.header(NEXT_CURSOR_HEADER, BookingCursorMapper.mapToToken(cursor));
+        }
+        return response.body(mapToDto(bookings));
+    }
+
+    @Nullable
+    private static BookingCursor asBookingCursor(String after) {
+        return after.isEmpty() ? null : BookingCursorMapper.map(after);
+    }
+
     private static BookingState asBookingState(@Nullable String state) {
         if (state == null || state.isEmpty()) {
             return BookingState.ALL;
@@ -12,13 +12,24 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "booking_table")
+@NamedEntityGraph(
+        name = BookingEntity.WITH_ITEM_AND_BOOKER,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "item", subgraph = "item")
+        },
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("user"))
+)
 @Getter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class BookingEntity {
+    public static final String WITH_ITEM_AND_BOOKER = "Booking.withItemAndBooker";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     @Column(name = "booking_id", nullable = false)
     private Long id;
 
@@ -28,11 +39,11 @@ public class BookingEntity {
     @Column(name = "booking_end_date", nullable = false)
     private LocalDateTime end;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_booker_id", nullable = false)
     private UserEntity user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_item_id", nullable = false)
     private ItemEntity item;
 
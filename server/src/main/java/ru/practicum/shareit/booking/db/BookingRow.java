@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingRow {
+    public static final String SELECT = "SELECT new ru.practicum.shareit.booking.db.BookingRow(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, i.description, i.available, i.request.id, " +
+            "o.id, o.name, o.email, u.id, u.name, u.email) " +
+            "FROM BookingEntity b JOIN b.user u JOIN b.item i JOIN i.user o ";
+
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final String status;
+    private final Long itemId;
+    private final String itemName;
+    private final String itemDescription;
+    private final Boolean itemAvailable;
+    private final Long itemRequestId;
+    private final Long ownerId;
+    private final String ownerName;
+    private final String ownerEmail;
+    private final Long bookerId;
+    private final String bookerName;
+    private final String bookerEmail;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.db;
+
+public interface NearestBookingView {
+    Long getItemId();
+
+    Long getBookingId();
+
+    Long getBookerId();
+
+    String getKind();
+}
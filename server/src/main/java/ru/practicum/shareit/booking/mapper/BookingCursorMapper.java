@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.mapper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.NonNull;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingCursorMapper {
+    private static final String SEPARATOR = "|";
+
+    @NonNull
+    public static BookingCursor map(@NonNull Booking booking) {
+        return BookingCursor.builder()
+                .start(booking.getStart())
+                .id(booking.getId())
+                .build();
+    }
+
+    @NonNull
+    public static String mapToToken(@NonNull BookingCursor cursor) {
+        var value = cursor.getStart() + SEPARATOR + cursor.getId();
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NonNull
+    public static BookingCursor map(@NonNull String token) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = value.lastIndexOf(SEPARATOR);
+            return BookingCursor.builder()
+                    .start(LocalDateTime.parse(value.substring(0, separator)))
+                    .id(Long.parseLong(value.substring(separator + 1)))
+                    .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException(String.format("Некорректный курсор: %1$s", token));
+        }
+    }
+}
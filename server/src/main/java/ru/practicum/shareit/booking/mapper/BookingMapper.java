@@ -3,13 +3,17 @@ package ru.practicum.shareit.booking.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.db.BookingEntity;
+import ru.practicum.shareit.booking.db.BookingRow;
+import ru.practicum.shareit.booking.db.NearestBookingView;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.db.ItemEntity;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.db.UserEntity;
 import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BookingMapper {
@@ -60,6 +64,41 @@ public class BookingMapper {
                 .build();
     }
 
+    public static Booking map(BookingRow row) {
+        return Booking.builder()
+                .id(row.getId())
+                .item(Item.builder()
+                        .id(row.getItemId())
+                        .name(row.getItemName())
+                        .description(row.getItemDescription())
+                        .available(row.getItemAvailable())
+                        .requestId(row.getItemRequestId())
+                        .owner(User.builder()
+                                .id(row.getOwnerId())
+                                .name(row.getOwnerName())
+                                .email(row.getOwnerEmail())
+                                .build())
+                        .build())
+                .booker(User.builder()
+                        .id(row.getBookerId())
+                        .name(row.getBookerName())
+                        .email(row.getBookerEmail())
+                        .build())
+                .start(row.getStart())
+                .end(row.getEnd())
+                .status(BookingStatus.valueOf(row.getStatus()))
+                .build();
+    }
+
+    public static Booking map(NearestBookingView view) {
+        return Booking.builder()
+                .id(view.getBookingId())
+                .booker(User.builder()
+                        .id(view.getBookerId())
+                        .build())
+                .build();
+    }
+
     public static BookingEntity merge(Booking model, BookingEntity entity) {
         return BookingEntity.builder()
                 .id(entity.getId())
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+public class BookingCursor {
+    private final LocalDateTime start;
+    private final Long id;
+}
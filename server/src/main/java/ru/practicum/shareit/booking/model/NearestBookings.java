@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder(toBuilder = true)
+public class NearestBookings {
+    public static final NearestBookings EMPTY = NearestBookings.builder().build();
+
+    private final Booking last;
+    private final Booking next;
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.overlap;
+
+import org.springframework.lang.NonNull;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Keeps approved bookings of one item from overlapping when they are approved concurrently.
+ * The overlap check itself is part of the approving update; implementations close the race
+ * between two such updates.
+ */
+public interface BookingOverlapGuard {
+    String GUARD_PROPERTY = "shareit.bookings.overlap-guard";
+    String OVERLAP_MESSAGE = "Вещь уже забронирована на эти даты";
+
+    /**
+     * Runs {@code approval}, which must commit before returning. {@code itemId} is only resolved
+     * by implementations that need it.
+     */
+    @NonNull
+    <T> T guard(@NonNull LongSupplier itemId, @NonNull Supplier<T> approval);
+}
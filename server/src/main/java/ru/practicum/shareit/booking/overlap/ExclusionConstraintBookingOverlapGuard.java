@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.overlap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * PostgreSQL guard backed by the {@value #CONSTRAINT} exclusion constraint from schema-postgresql.sql.
+ * Approvals never wait for each other; the one that loses a race fails on the constraint.
+ */
+@Component
+@ConditionalOnProperty(name = BookingOverlapGuard.GUARD_PROPERTY, havingValue = "constraint")
+public class ExclusionConstraintBookingOverlapGuard implements BookingOverlapGuard {
+    static final String CONSTRAINT = "ex_booking_item_approved_overlap";
+
+    @NonNull
+    @Override
+    public <T> T guard(@NonNull LongSupplier itemId, @NonNull Supplier<T> approval) {
+        try {
+            return approval.get();
+        } catch (DataIntegrityViolationException e) {
+            var message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(CONSTRAINT)) {
+                throw new ConflictException(OVERLAP_MESSAGE);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.overlap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Guard for databases without exclusion constraints. Approvals of one item are serialized on one of
+ * a fixed number of locks, so different items rarely wait for each other and memory does not grow
+ * with the number of items. Only valid while a single server instance owns the database.
+ */
+@Component
+@ConditionalOnProperty(name = BookingOverlapGuard.GUARD_PROPERTY, havingValue = "lock")
+public class StripedLockBookingOverlapGuard implements BookingOverlapGuard {
+    private final ReentrantLock[] stripes;
+
+    public StripedLockBookingOverlapGuard(@Value("${shareit.bookings.lock-stripes:256}") int stripes) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @NonNull
+    @Override
+    public <T> T guard(@NonNull LongSupplier itemId, @NonNull Supplier<T> approval) {
+        var lock = stripes[Math.floorMod(Long.hashCode(itemId.getAsLong()), stripes.length)];
+        lock.lock();
+        try {
+            return approval.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
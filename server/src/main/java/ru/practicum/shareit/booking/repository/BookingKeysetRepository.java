@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.db.BookingRow;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+interface BookingKeysetRepository {
+    @NonNull
+    List<BookingRow> findPage(
+            @NonNull BookingParty party,
+            @NonNull Long userId,
+            @NonNull BookingState state,
+            @NonNull LocalDateTime now,
+            @Nullable BookingCursor after,
+            int size
+    );
+
+    @NonNull
+    Stream<BookingRow> streamAll(
+            @NonNull BookingParty party,
+            @NonNull Long userId,
+            @NonNull BookingState state,
+            @NonNull LocalDateTime now,
+            int fetchSize
+    );
+
+    enum BookingParty {
+        BOOKER, OWNER
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.db.BookingEntity;
+import ru.practicum.shareit.booking.db.BookingRow;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Booking lists ordered by (start, id) descending. The next page continues strictly after the
+ * cursor, so the cost of a page does not depend on how deep into the history it is.
+ * A full history is streamed with the same ordering and a JDBC fetch size instead of being paged.
+ */
+@RequiredArgsConstructor
+class BookingKeysetRepositoryImpl implements BookingKeysetRepository {
+    private final EntityManager em;
+
+    @NonNull
+    @Override
+    public List<BookingRow> findPage(
+            @NonNull BookingParty party,
+            @NonNull Long userId,
+            @NonNull BookingState state,
+            @NonNull LocalDateTime now,
+            @Nullable BookingCursor after,
+            int size
+    ) {
+        return em.createQuery(buildQuery(party, userId, state, now, after))
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @NonNull
+    @Override
+    public Stream<BookingRow> streamAll(
+            @NonNull BookingParty party,
+            @NonNull Long userId,
+            @NonNull BookingState state,
+            @NonNull LocalDateTime now,
+            int fetchSize
+    ) {
+        return em.createQuery(buildQuery(party, userId, state, now, null))
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<BookingRow> buildQuery(
+            BookingParty party,
+            Long userId,
+            BookingState state,
+            LocalDateTime now,
+            @Nullable BookingCursor after
+    ) {
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createQuery(BookingRow.class);
+        var root = query.from(BookingEntity.class);
+        var booker = root.join("user");
+        var item = root.join("item");
+        var owner = item.join("user");
+        var predicates = new ArrayList<Predicate>();
+        if (party == BookingParty.BOOKER) {
+            predicates.add(cb.equal(booker.get("id"), userId));
+        } else {
+            predicates.add(cb.equal(owner.get("id"), userId));
+        }
+        addStatePredicates(cb, root, state, now, predicates);
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(root.get("start"), after.getStart()),
+                    cb.and(
+                            cb.equal(root.get("start"), after.getStart()),
+                            cb.lessThan(root.get("id"), after.getId())
+                    )
+            ));
+        }
+
+        query.select(cb.construct(BookingRow.class,
+                        root.get("id"), root.get("start"), root.get("end"), root.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("request").get("id"),
+                        owner.get("id"), owner.get("name"), owner.get("email"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(root.get("start")), cb.desc(root.get("id")));
+        return query;
+    }
+
+    private static void addStatePredicates(
+            CriteriaBuilder cb,
+            Root<BookingEntity> root,
+            BookingState state,
+            LocalDateTime now,
+            List<Predicate> predicates
+    ) {
+        switch (state) {
+            case CURRENT:
+                predicates.add(cb.lessThan(root.get("start"), now));
+                predicates.add(cb.greaterThan(root.get("end"), now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(root.get("end"), now));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(root.get("start"), now));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(root.get("status"), BookingStatus.WAITING.toString()));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(root.get("status"), BookingStatus.REJECTED.toString()));
+                break;
+            default:
+                break;
+        }
+    }
+}
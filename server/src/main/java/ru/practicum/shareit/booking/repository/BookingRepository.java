@@ -4,12 +4,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.NearestBookings;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface BookingRepository {
     @NonNull
@@ -21,17 +28,37 @@ public interface BookingRepository {
     @NonNull
     Booking update(@NonNull Booking booking);
 
+    /**
+     * Moves a {@code WAITING} booking of an item owned by {@code ownerId} to {@code status} with a
+     * single conditional update, so of two concurrent decisions only one succeeds. Approval also
+     * requires that no approved booking of the item overlaps this one.
+     */
+    @NonNull
+    Booking changeStatus(@NonNull Long bookingId, @NonNull Long ownerId, @NonNull BookingStatus status);
+
+    @NonNull
+    Long getItemId(@NonNull Long bookingId);
+
+    boolean existsApprovedOverlap(@NonNull Long itemId, @NonNull LocalDateTime start, @NonNull LocalDateTime end);
+
     @NonNull
     List<Booking> findAllByUserId(@NonNull Long userId, @NonNull BookingState state, @NonNull Pageable pageable);
 
     @NonNull
     List<Booking> findAllByItemUserId(@NonNull Long userId, @NonNull BookingState state, @NonNull Pageable pageable);
 
-    @Nullable
-    Booking findLastApproved(@NonNull Long itemId);
+    @NonNull
+    List<Booking> findAllByUserId(@NonNull Long userId, @NonNull BookingState state, @Nullable BookingCursor after, int size);
 
-    @Nullable
-    Booking findNextApproved(@NonNull Long itemId);
+    @NonNull
+    List<Booking> findAllByItemUserId(@NonNull Long userId, @NonNull BookingState state, @Nullable BookingCursor after, int size);
+
+    void exportAllByUserId(@NonNull Long userId, @NonNull BookingState state, @NonNull Consumer<Booking> action);
+
+    void exportAllByItemUserId(@NonNull Long userId, @NonNull BookingState state, @NonNull Consumer<Booking> action);
+
+    @NonNull
+    Map<Long, NearestBookings> findNearestApproved(@NonNull Collection<Long> itemIds);
 
     @Nullable
     Booking findApprovedItemFor(@NonNull Long itemId, @NonNull Long userId);
@@ -1,17 +1,29 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.booking.db.BookingEntity;
+import ru.practicum.shareit.booking.db.BookingRow;
+import ru.practicum.shareit.booking.db.NearestBookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.NearestBookings;
+import ru.practicum.shareit.booking.overlap.BookingOverlapGuard;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -21,12 +33,20 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Repository
-interface JpaBookingRepository extends BookingRepository, CrudRepository<BookingEntity, Long> {
+interface JpaBookingRepository extends BookingRepository, BookingKeysetRepository, CrudRepository<BookingEntity, Long> {
+    String LAST_BOOKING_KIND = "LAST";
+    String NEXT_BOOKING_KIND = "NEXT";
+    int EXPORT_FETCH_SIZE = 500;
 
     @NonNull
     @Override
@@ -58,10 +78,39 @@ interface JpaBookingRepository extends BookingRepository, CrudRepository<Booking
                 .orElseThrow();
     }
 
+    @NonNull
+    @Override
+    @Transactional
+    default Booking changeStatus(@NonNull Long bookingId, @NonNull Long ownerId, @NonNull BookingStatus status) {
+        if (updateStatus(bookingId, ownerId, status.name(), BookingStatus.WAITING.name()) == 0) {
+            var current = getItem(bookingId);
+            if (!Objects.equals(current.getItem().getOwner().getId(), ownerId)) {
+                throw new NotFoundException("Нет доступа");
+            }
+            if (current.getStatus() != BookingStatus.WAITING) {
+                throw new BadRequestException("Статус уже установлен");
+            }
+            throw new ConflictException(BookingOverlapGuard.OVERLAP_MESSAGE);
+        }
+        return getItem(bookingId);
+    }
+
+    @NonNull
+    @Override
+    default Long getItemId(@NonNull Long bookingId) {
+        return findItemIdById(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format("Бронирование с идентификатором %1$s не найдено", bookingId)));
+    }
+
+    @Override
+    @Query("SELECT COUNT(b) > 0 FROM BookingEntity b " +
+            "WHERE b.item.id = ?1 AND b.status = 'APPROVED' AND b.start < ?3 AND b.end > ?2")
+    boolean existsApprovedOverlap(@NonNull Long itemId, @NonNull LocalDateTime start, @NonNull LocalDateTime end);
+
     @NonNull
     @Override
     default List<Booking> findAllByUserId(@NonNull Long userId, @NonNull BookingState state, @NonNull Pageable pageable) {
-        Collection<BookingEntity> collection;
+        Collection<BookingRow> collection;
         switch (state) {
             case CURRENT:
                 collection = findAllByUserIdAndStartBeforeAndEndAfterOrderByStartAsc(userId, LocalDateTime.now(), LocalDateTime.now(), pageable);
@@ -90,7 +139,7 @@ interface JpaBookingRepository extends BookingRepository, CrudRepository<Booking
     @NonNull
     @Override
     default List<Booking> findAllByItemUserId(@NonNull Long userId, @NonNull BookingState state, @NonNull Pageable pageable) {
-        Collection<BookingEntity> collection;
+        Collection<BookingRow> collection;
         switch (state) {
             case CURRENT:
                 collection = findAllByItemUserIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, LocalDateTime.now(), LocalDateTime.now(), pageable);
@@ -117,52 +166,125 @@ interface JpaBookingRepository extends BookingRepository, CrudRepository<Booking
                 .collect(Collectors.toList());
     }
 
-    @Nullable
+    @NonNull
     @Override
-    default Booking findLastApproved(@NonNull Long itemId) {
-        return findFirstByItemIdAndStatusAndStartBeforeOrderByEndDesc(itemId, BookingStatus.APPROVED.toString(), LocalDateTime.now())
+    default List<Booking> findAllByUserId(@NonNull Long userId, @NonNull BookingState state, @Nullable BookingCursor after, int size) {
+        return findPage(BookingParty.BOOKER, userId, state, LocalDateTime.now(), after, size).stream()
                 .map(BookingMapper::map)
-                .orElse(null);
+                .collect(Collectors.toList());
     }
 
-    @Nullable
+    @NonNull
     @Override
-    default Booking findNextApproved(@NonNull Long itemId) {
-        return findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(itemId, BookingStatus.APPROVED.toString(), LocalDateTime.now())
+    default List<Booking> findAllByItemUserId(@NonNull Long userId, @NonNull BookingState state, @Nullable BookingCursor after, int size) {
+        return findPage(BookingParty.OWNER, userId, state, LocalDateTime.now(), after, size).stream()
                 .map(BookingMapper::map)
-                .orElse(null);
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    default void exportAllByUserId(@NonNull Long userId, @NonNull BookingState state, @NonNull Consumer<Booking> action) {
+        try (var rows = streamAll(BookingParty.BOOKER, userId, state, LocalDateTime.now(), EXPORT_FETCH_SIZE)) {
+            rows.map(BookingMapper::map).forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    default void exportAllByItemUserId(@NonNull Long userId, @NonNull BookingState state, @NonNull Consumer<Booking> action) {
+        try (var rows = streamAll(BookingParty.OWNER, userId, state, LocalDateTime.now(), EXPORT_FETCH_SIZE)) {
+            rows.map(BookingMapper::map).forEach(action);
+        }
+    }
+
+    @NonNull
+    @Override
+    default Map<Long, NearestBookings> findNearestApproved(@NonNull Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        var result = new HashMap<Long, NearestBookings>();
+        for (var view : findNearestApprovedViews(itemIds, LocalDateTime.now())) {
+            var nearest = result.getOrDefault(view.getItemId(), NearestBookings.EMPTY).toBuilder();
+            if (LAST_BOOKING_KIND.equals(view.getKind())) {
+                nearest.last(BookingMapper.map(view));
+            } else {
+                nearest.next(BookingMapper.map(view));
+            }
+            result.put(view.getItemId(), nearest.build());
+        }
+        return result;
     }
 
     @Override
     default Booking findApprovedItemFor(@NonNull Long itemId, @NonNull Long userId) {
-        return findFirstByItemIdAndUserIdAndStatusAndEndBefore(itemId, userId, BookingStatus.APPROVED.toString(), LocalDateTime.now())
+        return findAllByItemIdAndUserIdAndStatusAndEndBefore(itemId, userId, BookingStatus.APPROVED.toString(), LocalDateTime.now(), PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
                 .map(BookingMapper::map)
                 .orElse(null);
     }
 
-    Optional<BookingEntity> findFirstByItemIdAndStatusAndStartBeforeOrderByEndDesc(Long itemId, String status, LocalDateTime date);
+    @Query(value = "SELECT n.item_id AS itemId, n.booking_id AS bookingId, n.booker_id AS bookerId, n.kind AS kind FROM (" +
+            "SELECT b.booking_item_id AS item_id, b.booking_id, b.booking_booker_id AS booker_id, " +
+            "CASE WHEN b.booking_start_date < :now THEN '" + LAST_BOOKING_KIND + "' ELSE '" + NEXT_BOOKING_KIND + "' END AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.booking_item_id, b.booking_start_date < :now " +
+            "ORDER BY CASE WHEN b.booking_start_date < :now THEN b.booking_end_date END DESC, " +
+            "b.booking_start_date, b.booking_id) AS rn " +
+            "FROM booking_table b " +
+            "WHERE b.booking_item_id IN (:itemIds) AND b.booking_status = 'APPROVED' AND b.booking_start_date <> :now" +
+            ") n WHERE n.rn = 1", nativeQuery = true)
+    List<NearestBookingView> findNearestApprovedViews(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
 
-    Optional<BookingEntity> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Long itemId, String status, LocalDateTime date);
+    @EntityGraph(BookingEntity.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM BookingEntity b WHERE b.item.id = ?1 AND b.user.id = ?2 AND b.status = ?3 AND b.end < ?4")
+    List<BookingEntity> findAllByItemIdAndUserIdAndStatusAndEndBefore(Long itemId, Long userId, String status, LocalDateTime date, Pageable pageable);
 
-    Optional<BookingEntity> findFirstByItemIdAndUserIdAndStatusAndEndBefore(Long itemId, Long userId, String status, LocalDateTime date);
+    @Query(BookingRow.SELECT + "WHERE o.id = ?1 ORDER BY b.start DESC")
+    List<BookingRow> findAllByItemUserIdOrderByStartDesc(Long userId, Pageable pageable);
 
-    List<BookingEntity> findAllByItemUserIdOrderByStartDesc(Long userId, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE o.id = ?1 AND b.status = ?2 ORDER BY b.start DESC")
+    List<BookingRow> findAllByItemUserIdAndStatusOrderByStartDesc(Long userId, String status, Pageable pageable);
 
-    List<BookingEntity> findAllByItemUserIdAndStatusOrderByStartDesc(Long userId, String status, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE o.id = ?1 AND b.start > ?2 ORDER BY b.start DESC")
+    List<BookingRow> findAllByItemUserIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
 
-    List<BookingEntity> findAllByItemUserIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE o.id = ?1 AND b.end < ?2 ORDER BY b.start DESC")
+    List<BookingRow> findAllByItemUserIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
 
-    List<BookingEntity> findAllByItemUserIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE o.id = ?1 AND b.start < ?2 AND b.end > ?3 ORDER BY b.start DESC")
+    List<BookingRow> findAllByItemUserIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
-    List<BookingEntity> findAllByItemUserIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE u.id = ?1 ORDER BY b.start DESC")
+    List<BookingRow> findAllByUserIdOrderByStartDesc(Long userId, Pageable pageable);
 
-    List<BookingEntity> findAllByUserIdOrderByStartDesc(Long userId, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE u.id = ?1 AND b.start > ?2 ORDER BY b.start DESC")
+    List<BookingRow> findAllByUserIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
 
-    List<BookingEntity> findAllByUserIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE u.id = ?1 AND b.start < ?2 AND b.end > ?3 ORDER BY b.start")
+    List<BookingRow> findAllByUserIdAndStartBeforeAndEndAfterOrderByStartAsc(Long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
-    List<BookingEntity> findAllByUserIdAndStartBeforeAndEndAfterOrderByStartAsc(Long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE u.id = ?1 AND b.status = ?2 ORDER BY b.start DESC")
+    List<BookingRow> findAllByUserIdAndStatusOrderByStartDesc(Long userId, String status, Pageable pageable);
 
-    List<BookingEntity> findAllByUserIdAndStatusOrderByStartDesc(Long userId, String status, Pageable pageable);
+    @Query(BookingRow.SELECT + "WHERE u.id = ?1 AND b.end < ?2 ORDER BY b.start DESC")
+    List<BookingRow> findAllByUserIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
 
-    List<BookingEntity> findAllByUserIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime date, Pageable pageable);
-}
\ No newline at end of file
+    @Query("SELECT b.item.id FROM BookingEntity b WHERE b.id = ?1")
+    Optional<Long> findItemIdById(Long bookingId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BookingEntity b SET b.status = :status " +
+            "WHERE b.id = :id AND b.status = :expected " +
+            "AND b.item.id IN (SELECT i.id FROM ItemEntity i WHERE i.user.id = :ownerId) " +
+            "AND (:status <> 'APPROVED' OR NOT EXISTS (SELECT o.id FROM BookingEntity o " +
+            "WHERE o.item.id = b.item.id AND o.status = 'APPROVED' AND o.start < b.end AND o.end > b.start))")
+    int updateStatus(@Param("id") Long bookingId, @Param("ownerId") Long ownerId,
+                     @Param("status") String status, @Param("expected") String expected);
+
+    @NonNull
+    @Override
+    @EntityGraph(BookingEntity.WITH_ITEM_AND_BOOKER)
+    Optional<BookingEntity> findById(@NonNull Long id);
+}
@@ -2,11 +2,14 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     @NonNull
@@ -23,4 +26,14 @@ public interface BookingService {
 
     @NonNull
     List<Booking> getAllRequestsForOwner(@NonNull Long userId, @NonNull BookingState state, @NonNull Pageable pageable);
+
+    @NonNull
+    List<Booking> getAllRequests(@NonNull Long userId, @NonNull BookingState state, @Nullable BookingCursor after, int size);
+
+    @NonNull
+    List<Booking> getAllRequestsForOwner(@NonNull Long userId, @NonNull BookingState state, @Nullable BookingCursor after, int size);
+
+    void exportAllRequests(@NonNull Long userId, @NonNull BookingState state, @NonNull Consumer<Booking> action);
+
+    void exportAllRequestsForOwner(@NonNull Long userId, @NonNull BookingState state, @NonNull Consumer<Booking> action);
 }
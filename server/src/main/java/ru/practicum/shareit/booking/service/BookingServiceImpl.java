@@ -3,12 +3,17 @@ package ru.practicum.shareit.booking.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.AvailabilityIndexUpdater;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.overlap.BookingOverlapGuard;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -17,6 +22,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +31,8 @@ class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final BookingOverlapGuard overlapGuard;
+    private final AvailabilityIndexUpdater availabilityIndexUpdater;
 
     @NonNull
     @Override
@@ -47,6 +55,9 @@ class BookingServiceImpl implements BookingService {
         if (requestId != null) {
             itemRequest = itemRequestRepository.getById(requestId);
         }
+        if (bookingRepository.existsApprovedOverlap(itemId, model.getStart(), model.getEnd())) {
+            throw new ConflictException(BookingOverlapGuard.OVERLAP_MESSAGE);
+        }
         var user = userRepository.getById(userId);
         return bookingRepository.create(model, user, item, itemRequest);
     }
@@ -54,18 +65,15 @@ class BookingServiceImpl implements BookingService {
     @NonNull
     @Override
     public Booking changeRequestStatus(@NonNull Long userId, @NonNull Long bookingId, @NonNull BookingStatus status) {
-        userRepository.getById(userId); // check exist
-        var booking = bookingRepository.getItem(bookingId);
-        var item = itemRepository.getItem(booking.getItem().getId());
-        if (!Objects.equals(item.getOwner().getId(), userId)) {
-            throw new NotFoundException("Нет доступа");
-        }
-        if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new BadRequestException("Статус уже установлен");
+        Booking booking;
+        if (status != BookingStatus.APPROVED) {
+            booking = bookingRepository.changeStatus(bookingId, userId, status);
+        } else {
+            booking = overlapGuard.guard(() -> bookingRepository.getItemId(bookingId),
+                    () -> bookingRepository.changeStatus(bookingId, userId, status));
         }
-        return bookingRepository.update(
-                booking.toBuilder().status(status).build()
-        );
+        availabilityIndexUpdater.onStatusChanged(booking);
+        return booking;
     }
 
     @NonNull
@@ -93,4 +101,30 @@ class BookingServiceImpl implements BookingService {
         var user = userRepository.getById(userId);
         return bookingRepository.findAllByItemUserId(user.getId(), state, pageable);
     }
-}
\ No newline at end of file
+
+    @NonNull
+    @Override
+    public List<Booking> getAllRequests(@NonNull Long userId, @NonNull BookingState state, @Nullable BookingCursor after, int size) {
+        var user = userRepository.getById(userId);
+        return bookingRepository.findAllByUserId(user.getId(), state, after, size);
+    }
+
+    @NonNull
+    @Override
+    public List<Booking> getAllRequestsForOwner(@NonNull Long userId, @NonNull BookingState state, @Nullable BookingCursor after, int size) {
+        var user = userRepository.getById(userId);
+        return bookingRepository.findAllByItemUserId(user.getId(), state, after, size);
+    }
+
+    @Override
+    public void exportAllRequests(@NonNull Long userId, @NonNull BookingState state, @NonNull Consumer<Booking> action) {
+        var user = userRepository.getById(userId);
+        bookingRepository.exportAllByUserId(user.getId(), state, action);
+    }
+
+    @Override
+    public void exportAllRequestsForOwner(@NonNull Long userId, @NonNull BookingState state, @NonNull Consumer<Booking> action) {
+        var user = userRepository.getById(userId);
+        bookingRepository.exportAllByItemUserId(user.getId(), state, action);
+    }
+}
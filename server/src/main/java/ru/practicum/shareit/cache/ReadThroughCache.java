@@ -0,0 +1,136 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache with a time-to-live, filled by the loader on a miss. A value loaded while an
+ * eviction happened is returned but not stored, so a read racing with an update cannot put the old
+ * row back. Failed loads are not cached.
+ */
+public class ReadThroughCache<K, V> {
+    private static final String METRIC_NAME = "shareit.repository.cache";
+
+    private final Map<K, Entry<V>> entries;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private long evictions;
+
+    public ReadThroughCache(@NonNull String name, int maxEntries, @NonNull Duration ttl, @NonNull MeterRegistry registry) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder(METRIC_NAME + ".requests")
+                .description("Repository reads by cache result")
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder(METRIC_NAME + ".requests")
+                .description("Repository reads by cache result")
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".size", this, ReadThroughCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    @NonNull
+    public V get(@NonNull K key, @NonNull Function<K, V> loader) {
+        long observedEvictions;
+        synchronized (this) {
+            var entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.loadedAt < ttlNanos) {
+                hits.increment();
+                return entry.value;
+            }
+            observedEvictions = evictions;
+        }
+        misses.increment();
+        var value = loader.apply(key);
+        synchronized (this) {
+            if (evictions == observedEvictions) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops the key now and, inside a transaction, once more after commit, so a concurrent read of the
+     * uncommitted row does not outlive the change.
+     */
+    public void evict(@NonNull K key) {
+        remove(key);
+        afterCommit(() -> remove(key));
+    }
+
+    /**
+     * Drops the entries whose value matches, now and once more after commit, for changes that reach values
+     * embedding another row.
+     */
+    public void evictIf(@NonNull Predicate<V> predicate) {
+        removeIf(predicate);
+        afterCommit(() -> removeIf(predicate));
+    }
+
+    /**
+     * Drops every entry, for changes that reach rows the caller cannot name, such as cascading deletes.
+     */
+    public void clear() {
+        removeAll();
+        afterCommit(this::removeAll);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void remove(K key) {
+        entries.remove(key);
+        evictions++;
+    }
+
+    private synchronized void removeIf(Predicate<V> predicate) {
+        entries.values().removeIf(entry -> predicate.test(entry.value));
+        evictions++;
+    }
+
+    private synchronized void removeAll() {
+        entries.clear();
+        evictions++;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+    }
+}
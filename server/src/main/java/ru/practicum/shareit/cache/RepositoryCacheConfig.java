@@ -0,0 +1,31 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+
+/**
+ * The caches are beans rather than fields of their decorators, because deleting a user must also drop
+ * the items removed with it.
+ */
+@Configuration
+public class RepositoryCacheConfig {
+    @Bean
+    public ReadThroughCache<Long, User> userCache(@Value("${shareit.cache.users.max-entries:10000}") int maxEntries,
+                                                  @Value("${shareit.cache.users.ttl:30s}") Duration ttl,
+                                                  MeterRegistry registry) {
+        return new ReadThroughCache<>("users", maxEntries, ttl, registry);
+    }
+
+    @Bean
+    public ReadThroughCache<Long, Item> itemCache(@Value("${shareit.cache.items.max-entries:10000}") int maxEntries,
+                                                  @Value("${shareit.cache.items.ttl:30s}") Duration ttl,
+                                                  MeterRegistry registry) {
+        return new ReadThroughCache<>("items", maxEntries, ttl, registry);
+    }
+}
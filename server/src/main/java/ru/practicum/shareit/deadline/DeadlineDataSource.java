@@ -0,0 +1,61 @@
+package ru.practicum.shareit.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import ru.practicum.shareit.RequestDeadline;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Gives every JDBC statement created under a request deadline a query timeout equal to the remaining
+ * budget, and refuses to create statements once the budget is spent. Hibernate reports both cases as
+ * a query timeout.
+ */
+class DeadlineDataSource extends DelegatingDataSource {
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    DeadlineDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withDeadline(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withDeadline(super.getConnection(username, password));
+    }
+
+    private static Connection withDeadline(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    var remaining = STATEMENT_FACTORIES.contains(method.getName())
+                            ? RequestDeadline.remainingMillis()
+                            : OptionalLong.empty();
+                    if (remaining.isPresent() && remaining.getAsLong() <= 0) {
+                        throw new SQLTimeoutException(RequestDeadline.EXCEEDED_MESSAGE);
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (remaining.isPresent()) {
+                        ((Statement) result).setQueryTimeout((int) Math.max(1, (remaining.getAsLong() + 999) / 1000));
+                    }
+                    return result;
+                });
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.deadline;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+class DeadlineDataSourcePostProcessor implements BeanPostProcessor {
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof DeadlineDataSource)) {
+            return new DeadlineDataSource((DataSource) bean);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.deadline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.RequestDeadline;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+import static ru.practicum.shareit.Const.X_DEADLINE_HEADER;
+
+/**
+ * Starts the request deadline from {@link ru.practicum.shareit.Const#X_DEADLINE_HEADER}. Requests that
+ * arrive with no budget left are answered with 504 before any work is done.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        var budget = RequestDeadline.parseBudget(request.getHeader(X_DEADLINE_HEADER));
+        if (budget.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (budget.getAsLong() <= 0) {
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of("error", RequestDeadline.EXCEEDED_MESSAGE));
+            return;
+        }
+        RequestDeadline.start(budget.getAsLong());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
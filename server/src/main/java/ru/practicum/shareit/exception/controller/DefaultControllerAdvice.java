@@ -1,12 +1,15 @@
 package ru.practicum.shareit.exception.controller;
 
 import lombok.NonNull;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import ru.practicum.shareit.RequestDeadline;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.DeadlineExceededException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 
@@ -33,6 +36,11 @@ public class DefaultControllerAdvice {
         return new ResponseEntity<>(getCustomBody(ex), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class, javax.persistence.QueryTimeoutException.class})
+    public ResponseEntity<Object> handleDeadlineExceededException(RuntimeException ex) {
+        return new ResponseEntity<>(Map.of(ERROR_KEY, RequestDeadline.EXCEEDED_MESSAGE), HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @NonNull
     private static Map<String, String> getCustomBody(@NonNull RuntimeException e) {
         var message = e.getMessage();
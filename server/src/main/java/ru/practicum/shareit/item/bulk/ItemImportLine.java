@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.bulk;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.item.model.Item;
+
+@Data
+@Builder(toBuilder = true)
+public class ItemImportLine {
+    private final long line;
+    private final Item item;
+    private final String error;
+}
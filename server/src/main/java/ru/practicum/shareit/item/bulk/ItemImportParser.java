@@ -0,0 +1,228 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.dto.CreateItemGroup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.Const.TEXT_CSV_VALUE;
+
+/**
+ * Turns an NDJSON or CSV upload into import lines one line at a time, so the body is never held in memory.
+ * CSV input starts with a header naming the {@code name}, {@code description}, {@code available}
+ * and optional {@code requestId} columns. Each record is a single line, so quoted CSV values must not
+ * contain line breaks; a line ending inside quotes is reported as an error.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemImportParser {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    private static final String NAME_COLUMN = "name";
+    private static final String DESCRIPTION_COLUMN = "description";
+    private static final String AVAILABLE_COLUMN = "available";
+    private static final String REQUEST_ID_COLUMN = "requestid";
+    private static final String UNCLOSED_QUOTE_MESSAGE = "Незакрытая кавычка: значения CSV не могут содержать перевод строки";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @NonNull
+    public Iterator<ItemImportLine> parse(@NonNull MediaType contentType, @NonNull BufferedReader reader) {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return new LineIterator(reader, 0, this::parseJson);
+        }
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            var header = readHeader(reader);
+            return new LineIterator(reader, 1, (line, text) -> parseCsv(header, line, text));
+        }
+        throw new BadRequestException(String.format("Неподдерживаемый формат импорта: %1$s", contentType));
+    }
+
+    private ItemImportLine parseJson(long line, String text) {
+        try {
+            return validate(line, objectMapper.readValue(text, ItemDto.class));
+        } catch (JsonProcessingException e) {
+            return failed(line, String.format("Некорректный JSON: %1$s", e.getOriginalMessage()));
+        }
+    }
+
+    private ItemImportLine parseCsv(Map<String, Integer> header, long line, String text) {
+        var values = splitCsv(text);
+        if (values == null) {
+            return failed(line, UNCLOSED_QUOTE_MESSAGE);
+        }
+        if (values.size() != header.size()) {
+            return failed(line, String.format("Ожидалось колонок: %1$d, получено: %2$d", header.size(), values.size()));
+        }
+        var available = value(header, values, AVAILABLE_COLUMN);
+        if (available != null && !"true".equalsIgnoreCase(available) && !"false".equalsIgnoreCase(available)) {
+            return failed(line, String.format("Некорректное значение available: %1$s", available));
+        }
+        var requestId = value(header, values, REQUEST_ID_COLUMN);
+        try {
+            return validate(line, ItemDto.builder()
+                    .name(value(header, values, NAME_COLUMN))
+                    .description(value(header, values, DESCRIPTION_COLUMN))
+                    .available(available == null ? null : Boolean.valueOf(available))
+                    .requestId(requestId == null ? null : Long.valueOf(requestId))
+                    .build());
+        } catch (NumberFormatException e) {
+            return failed(line, String.format("Некорректное значение requestId: %1$s", requestId));
+        }
+    }
+
+    private ItemImportLine validate(long line, ItemDto dto) {
+        var violations = validator.validate(dto, CreateItemGroup.class);
+        if (!violations.isEmpty()) {
+            return failed(line, violations.stream()
+                    .map(ItemImportParser::describe)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return ItemImportLine.builder()
+                .line(line)
+                .item(ItemMapper.map(dto, null))
+                .build();
+    }
+
+    private static Map<String, Integer> readHeader(BufferedReader reader) {
+        var text = readLine(reader);
+        if (text == null || text.isBlank()) {
+            throw new BadRequestException("Отсутствует заголовок CSV");
+        }
+        var header = new HashMap<String, Integer>();
+        var columns = splitCsv(text);
+        if (columns == null) {
+            throw new BadRequestException(UNCLOSED_QUOTE_MESSAGE);
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (var column : List.of(NAME_COLUMN, DESCRIPTION_COLUMN, AVAILABLE_COLUMN)) {
+            if (!header.containsKey(column)) {
+                throw new BadRequestException(String.format("В заголовке CSV нет колонки %1$s", column));
+            }
+        }
+        return header;
+    }
+
+    private static String value(Map<String, Integer> header, List<String> values, String column) {
+        var index = header.get(column);
+        if (index == null) {
+            return null;
+        }
+        var value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    @Nullable
+    private static List<String> splitCsv(String text) {
+        var values = new ArrayList<String>();
+        var current = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String describe(ConstraintViolation<ItemDto> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static ItemImportLine failed(long line, String error) {
+        return ItemImportLine.builder()
+                .line(line)
+                .error(error)
+                .build();
+    }
+
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class LineIterator implements Iterator<ItemImportLine> {
+        private final BufferedReader reader;
+        private final BiFunction<Long, String, ItemImportLine> parser;
+        private long line;
+        private String next;
+
+        LineIterator(BufferedReader reader, long skipped, BiFunction<Long, String, ItemImportLine> parser) {
+            this.reader = reader;
+            this.parser = parser;
+            this.line = skipped;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                var text = readLine(reader);
+                if (text == null) {
+                    return false;
+                }
+                line++;
+                if (!text.isBlank()) {
+                    next = text;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ItemImportLine next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var text = next;
+            next = null;
+            return parser.apply(line, text);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.bulk;
+
+import org.springframework.lang.NonNull;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ItemImportService {
+
+    void importItems(@NonNull Long userId, @NonNull Iterator<ItemImportLine> lines, @NonNull Consumer<List<ItemImportLine>> results);
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.bulk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+class ItemImportServiceImpl implements ItemImportService {
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    @Value("${shareit.items.import.batch-size:500}")
+    private final int batchSize;
+
+    @Override
+    public void importItems(@NonNull Long userId, @NonNull Iterator<ItemImportLine> lines, @NonNull Consumer<List<ItemImportLine>> results) {
+        var user = userRepository.getById(userId);
+        var chunk = new ArrayList<ItemImportLine>(batchSize);
+        while (lines.hasNext()) {
+            chunk.add(lines.next());
+            if (chunk.size() == batchSize) {
+                results.accept(importChunk(user, chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.accept(importChunk(user, chunk));
+        }
+    }
+
+    private List<ItemImportLine> importChunk(User user, List<ItemImportLine> chunk) {
+        var requestIds = chunk.stream()
+                .map(ItemImportLine::getItem)
+                .filter(Objects::nonNull)
+                .map(Item::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        var existingRequestIds = requestIds.isEmpty() ? requestIds : itemRequestRepository.findExistingIds(requestIds);
+
+        var resolved = chunk.stream()
+                .map(it -> {
+                    var item = it.getItem();
+                    if (item == null || item.getRequestId() == null || existingRequestIds.contains(item.getRequestId())) {
+                        return it;
+                    }
+                    return it.toBuilder()
+                            .item(null)
+                            .error(String.format("Запрос вещи с идентификатором %1$s не найден", item.getRequestId()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        var valid = resolved.stream()
+                .map(ItemImportLine::getItem)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (valid.isEmpty()) {
+            return resolved;
+        }
+        var saved = itemRepository.addNewItems(user, valid).iterator();
+        return resolved.stream()
+                .map(it -> it.getItem() == null ? it : it.toBuilder().item(saved.next()).build())
+                .collect(Collectors.toList());
+    }
+}
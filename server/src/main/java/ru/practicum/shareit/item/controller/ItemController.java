@@ -1,15 +1,31 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.Utils;
+import ru.practicum.shareit.item.bulk.ItemImportLine;
+import ru.practicum.shareit.item.bulk.ItemImportParser;
+import ru.practicum.shareit.item.bulk.ItemImportService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemImportMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +36,9 @@ import static ru.practicum.shareit.Const.*;
 @RequestMapping(path = "/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ItemImportParser itemImportParser;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<ItemDto> getItems(
@@ -36,8 +55,12 @@ public class ItemController {
     @GetMapping("/{itemId}")
     public ItemDto getItem(
             @RequestHeader(X_SHARER_USER_ID_HEADER) long userId,
-            @PathVariable Long itemId
+            @PathVariable Long itemId,
+            WebRequest request
     ) {
+        if (request.checkNotModified(itemService.getItemTag(userId, itemId))) {
+            return null;
+        }
         return ItemMapper.mapToDto(itemService.getItem(userId, itemId));
     }
 
@@ -53,6 +76,20 @@ public class ItemController {
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/available")
+    public List<ItemDto> getAvailableItems(
+            @RequestParam(name = START_REQUEST_PARAM) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = END_REQUEST_PARAM) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(name = SEARCH_REQUEST_PARAM, required = false) String text,
+            @RequestParam(name = FROM_REQUEST_PARAM, required = false, defaultValue = "0") Integer from,
+            @RequestParam(name = SIZE_REQUEST_PARAM, required = false, defaultValue = "10") Integer size
+    ) {
+        return itemService.getAvailable(text, start, end, Utils.newPage(from, size))
+                .stream()
+                .map(ItemMapper::mapToDto)
+                .collect(Collectors.toList());
+    }
+
     @PostMapping
     public ItemDto addItem(
             @RequestHeader(X_SHARER_USER_ID_HEADER) long userId,
@@ -62,6 +99,24 @@ public class ItemController {
         return ItemMapper.mapToDto(itemService.addNewItem(userId, item));
     }
 
+    @PostMapping(
+            path = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void importItems(
+            @RequestHeader(X_SHARER_USER_ID_HEADER) long userId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        var contentType = MediaType.parseMediaType(request.getContentType());
+        var charset = contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+        var reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset));
+        var lines = itemImportParser.parse(contentType, reader);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemImportService.importItems(userId, lines, chunk -> writeChunk(response, chunk));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(
             @RequestHeader(X_SHARER_USER_ID_HEADER) long userId,
@@ -89,4 +144,17 @@ public class ItemController {
         var comment = CommentMapper.map(commentDto);
         return CommentMapper.mapToDto(itemService.createComment(userId, itemId, comment));
     }
+
+    private void writeChunk(HttpServletResponse response, List<ItemImportLine> chunk) {
+        try {
+            var out = response.getOutputStream();
+            for (var line : chunk) {
+                out.write(objectMapper.writeValueAsBytes(ItemImportMapper.mapToDto(line)));
+                out.write('\n');
+            }
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
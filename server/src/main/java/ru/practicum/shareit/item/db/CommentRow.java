@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class CommentRow {
+    public static final String SELECT = "SELECT new ru.practicum.shareit.item.db.CommentRow(" +
+            "c.id, c.text, c.createdAt, i.id, a.id, a.name, a.email) " +
+            "FROM CommentEntity c JOIN c.item i JOIN c.author a ";
+
+    private final Long id;
+    private final String text;
+    private final LocalDateTime createdAt;
+    private final Long itemId;
+    private final Long authorId;
+    private final String authorName;
+    private final String authorEmail;
+}
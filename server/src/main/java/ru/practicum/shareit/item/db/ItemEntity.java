@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.DynamicUpdate;
+import ru.practicum.shareit.item.search.ItemSearchIndexListener;
 import ru.practicum.shareit.request.db.ItemRequestEntity;
 import ru.practicum.shareit.user.db.UserEntity;
 
@@ -17,9 +18,14 @@ import javax.persistence.*;
 @DynamicUpdate
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(ItemSearchIndexListener.class)
+@NamedEntityGraph(name = ItemEntity.WITH_OWNER, attributeNodes = @NamedAttributeNode("user"))
 public class ItemEntity {
+    public static final String WITH_OWNER = "Item.withOwner";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     @Column(name = "item_id", nullable = false)
     private Long id;
 
@@ -32,11 +38,14 @@ public class ItemEntity {
     @Column(name = "item_is_available", nullable = false)
     private Boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_owner_id", nullable = false)
     private UserEntity user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_request_id")
     private ItemRequestEntity request;
+
+    @Column(name = "item_version", insertable = false, updatable = false)
+    private Long version;
 }
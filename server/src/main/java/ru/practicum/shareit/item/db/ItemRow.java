@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemRow {
+    public static final String SELECT = "SELECT new ru.practicum.shareit.item.db.ItemRow(" +
+            "i.id, i.name, i.description, i.available, i.request.id, o.id, o.name, o.email) " +
+            "FROM ItemEntity i JOIN i.user o ";
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final Long requestId;
+    private final Long ownerId;
+    private final String ownerName;
+    private final String ownerEmail;
+}
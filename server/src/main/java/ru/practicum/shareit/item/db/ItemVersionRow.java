@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemVersionRow {
+    public static final String SELECT = "SELECT new ru.practicum.shareit.item.db.ItemVersionRow(" +
+            "i.id, i.user.id, i.version) " +
+            "FROM ItemEntity i ";
+
+    private final Long id;
+    private final Long ownerId;
+    private final Long version;
+}
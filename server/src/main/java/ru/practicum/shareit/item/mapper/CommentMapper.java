@@ -3,11 +3,13 @@ package ru.practicum.shareit.item.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.item.db.CommentEntity;
+import ru.practicum.shareit.item.db.CommentRow;
 import ru.practicum.shareit.item.db.ItemEntity;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.user.db.UserEntity;
 import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 
@@ -41,6 +43,19 @@ public class CommentMapper {
                 .build();
     }
 
+    public static Comment map(CommentRow row) {
+        return Comment.builder()
+                .text(row.getText())
+                .id(row.getId())
+                .createdDate(row.getCreatedAt())
+                .author(User.builder()
+                        .id(row.getAuthorId())
+                        .name(row.getAuthorName())
+                        .email(row.getAuthorEmail())
+                        .build())
+                .build();
+    }
+
     public static CommentEntity mapToEntity(Comment comment, ItemEntity itemEntity, UserEntity userEntity) {
         return CommentEntity.builder()
                 .item(itemEntity)
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.mapper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.NonNull;
+import ru.practicum.shareit.item.bulk.ItemImportLine;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ItemImportMapper {
+
+    @NonNull
+    public static ItemImportResultDto mapToDto(@NonNull ItemImportLine line) {
+        var item = line.getItem();
+        return ItemImportResultDto.builder()
+                .line(line.getLine())
+                .id(item == null ? null : item.getId())
+                .error(line.getError())
+                .build();
+    }
+}
@@ -5,13 +5,17 @@ import lombok.NoArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import ru.practicum.shareit.item.db.ItemEntity;
+import ru.practicum.shareit.item.db.ItemRow;
+import ru.practicum.shareit.item.db.ItemVersionRow;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ShortBookingDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 import ru.practicum.shareit.request.db.ItemRequestEntity;
 import ru.practicum.shareit.user.db.UserEntity;
 import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -78,6 +82,31 @@ public class ItemMapper {
                 .build();
     }
 
+    @NonNull
+    public static Item map(ItemRow row) {
+        return Item.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(row.getDescription())
+                .available(row.getAvailable())
+                .owner(User.builder()
+                        .id(row.getOwnerId())
+                        .name(row.getOwnerName())
+                        .email(row.getOwnerEmail())
+                        .build())
+                .requestId(row.getRequestId())
+                .build();
+    }
+
+    @NonNull
+    public static ItemVersion map(ItemVersionRow row) {
+        return ItemVersion.builder()
+                .id(row.getId())
+                .ownerId(row.getOwnerId())
+                .version(row.getVersion())
+                .build();
+    }
+
     @NonNull
     public static ItemEntity mapToEntity(@NonNull Item model, @Nullable Long itemId, @NonNull UserEntity user, @Nullable ItemRequestEntity request) {
         return ItemEntity.builder()
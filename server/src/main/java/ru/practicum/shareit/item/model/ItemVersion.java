@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder(toBuilder = true)
+public class ItemVersion {
+    private final Long id;
+    private final Long ownerId;
+    private final long version;
+}
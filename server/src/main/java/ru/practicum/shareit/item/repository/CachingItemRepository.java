@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.ReadThroughCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+/**
+ * Serves {@link #getItem} from memory, since booking and item calls read the same row several times.
+ */
+@Primary
+@Component
+@RequiredArgsConstructor
+class CachingItemRepository implements ItemRepository {
+    private final JpaItemRepository delegate;
+    private final ReadThroughCache<Long, Item> cache;
+
+    @NonNull
+    @Override
+    public List<Item> getItems(@NonNull Long userId, @NonNull Pageable page) {
+        return delegate.getItems(userId, page);
+    }
+
+    @NonNull
+    @Override
+    public Item addNewItem(@NonNull User user, @NonNull Item item, @Nullable ItemRequest request) {
+        return delegate.addNewItem(user, item, request);
+    }
+
+    @NonNull
+    @Override
+    public List<Item> addNewItems(@NonNull User user, @NonNull List<Item> items) {
+        return delegate.addNewItems(user, items);
+    }
+
+    @Override
+    public void deleteItem(@NonNull Long userId, @NonNull Long itemId) {
+        try {
+            delegate.deleteItem(userId, itemId);
+        } finally {
+            cache.evict(itemId);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Item update(@NonNull Long userId, @NonNull Item item) {
+        try {
+            return delegate.update(userId, item);
+        } finally {
+            cache.evict(item.getId());
+        }
+    }
+
+    @NonNull
+    @Override
+    public Item getItem(@NonNull Long itemId) {
+        return cache.get(itemId, delegate::getItem);
+    }
+
+    @NonNull
+    @Override
+    public ItemVersion getVersion(@NonNull Long itemId) {
+        return delegate.getVersion(itemId);
+    }
+
+    @NonNull
+    @Override
+    public List<Item> searchBy(@NonNull String text, @NonNull Pageable page) {
+        return delegate.searchBy(text, page);
+    }
+
+    @NonNull
+    @Override
+    public List<Item> findAvailable(@Nullable Long afterId, int limit) {
+        return delegate.findAvailable(afterId, limit);
+    }
+}
@@ -7,7 +7,9 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CommentRepository {
     @NonNull
@@ -15,4 +17,7 @@ public interface CommentRepository {
 
     @NonNull
     List<Comment> find(@NonNull Long itemId);
+
+    @NonNull
+    Map<Long, List<Comment>> find(@NonNull Collection<Long> itemIds);
 }
@@ -4,6 +4,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -16,6 +17,9 @@ public interface ItemRepository {
     @NonNull
     Item addNewItem(@NonNull User user, @NonNull Item item, @Nullable ItemRequest request);
 
+    @NonNull
+    List<Item> addNewItems(@NonNull User user, @NonNull List<Item> items);
+
     void deleteItem(@NonNull Long userId, @NonNull Long itemId);
 
     @NonNull
@@ -24,6 +28,15 @@ public interface ItemRepository {
     @NonNull
     Item getItem(@NonNull Long itemId);
 
+    @NonNull
+    ItemVersion getVersion(@NonNull Long itemId);
+
     @NonNull
     List<Item> searchBy(@NonNull String text, @NonNull Pageable page);
+
+    /**
+     * Available items in id order, starting after {@code afterId}.
+     */
+    @NonNull
+    List<Item> findAvailable(@Nullable Long afterId, int limit);
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+interface ItemSearchRepository {
+    @NonNull
+    List<Item> searchBy(@NonNull String text, @NonNull Pageable page);
+}
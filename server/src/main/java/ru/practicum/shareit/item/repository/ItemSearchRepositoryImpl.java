@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import ru.practicum.shareit.item.db.ItemRow;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private final EntityManager em;
+    private final ObjectProvider<ItemSearchEngine> engine;
+
+    @NonNull
+    @Override
+    public List<Item> searchBy(@NonNull String text, @NonNull Pageable page) {
+        if (text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        var searchEngine = engine.getIfAvailable();
+        var rows = searchEngine == null ? findAllByQuery(text, page) : findAllById(searchEngine.search(text, page));
+        return rows.stream()
+                .map(ItemMapper::map)
+                .collect(Collectors.toList());
+    }
+
+    private List<ItemRow> findAllByQuery(String query, Pageable page) {
+        return em.createQuery(ItemRow.SELECT + "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) " +
+                        "OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%'))) AND i.available = TRUE", ItemRow.class)
+                .setParameter(1, query)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    private List<ItemRow> findAllById(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        var rows = em.createQuery(ItemRow.SELECT + "WHERE i.id IN ?1", ItemRow.class)
+                .setParameter(1, itemIds)
+                .getResultStream()
+                .collect(Collectors.toMap(ItemRow::getId, Function.identity()));
+        return itemIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.db.CommentEntity;
+import ru.practicum.shareit.item.db.CommentRow;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -15,18 +19,22 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Repository
 interface JpaCommentRepository extends CommentRepository, CrudRepository<CommentEntity, Long> {
     @NonNull
     @Override
+    @Transactional
     default Comment create(@NonNull Item item, @NonNull User user, @NonNull Comment comment, @Nullable ItemRequest request) {
         var userEntity = UserMapper.mapToEntity(user, user.getId());
         var requestEntity = ItemRequestMapper.mapToEntity(request);
         var itemEntity = ItemMapper.mapToEntity(item, item.getId(), userEntity, requestEntity);
         var entity = save(CommentMapper.mapToEntity(comment, itemEntity, userEntity));
+        incrementItemVersion(item.getId());
         return CommentMapper.map(entity);
     }
 
@@ -39,5 +47,27 @@ interface JpaCommentRepository extends CommentRepository, CrudRepository<Comment
                 .collect(Collectors.toList());
     }
 
-    Collection<CommentEntity> findAllByItemId(Long itemId);
+    @NonNull
+    @Override
+    default Map<Long, List<Comment>> find(@NonNull Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        CommentRow::getItemId,
+                        Collectors.mapping(CommentMapper::map, Collectors.toList())
+                ));
+    }
+
+    @Query(CommentRow.SELECT + "WHERE i.id = ?1")
+    Collection<CommentRow> findAllByItemId(Long itemId);
+
+    @Query(CommentRow.SELECT + "WHERE i.id IN ?1")
+    Collection<CommentRow> findAllByItemIdIn(Collection<Long> itemIds);
+
+    @Modifying
+    @Query("UPDATE ItemEntity i SET i.version = i.version + 1 WHERE i.id = ?1")
+    void incrementItemVersion(Long itemId);
 }
\ No newline at end of file
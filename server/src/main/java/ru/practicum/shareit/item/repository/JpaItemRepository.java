@@ -1,6 +1,9 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.lang.NonNull;
@@ -9,20 +12,27 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.db.ItemEntity;
+import ru.practicum.shareit.item.db.ItemRow;
+import ru.practicum.shareit.item.db.ItemVersionRow;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
+import ru.practicum.shareit.request.db.ItemRequestEntity;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @Repository
-interface JpaItemRepository extends ItemRepository, CrudRepository<ItemEntity, Long> {
+interface JpaItemRepository extends ItemRepository, ItemSearchRepository, CrudRepository<ItemEntity, Long> {
 
     @NonNull
     @Override
@@ -34,19 +44,52 @@ interface JpaItemRepository extends ItemRepository, CrudRepository<ItemEntity, L
 
     @NonNull
     @Override
+    @Transactional
     default Item addNewItem(@NonNull User user, @NonNull Item item, @Nullable ItemRequest request) {
         var userEntity = UserMapper.mapToEntity(user, user.getId());
         var requestEntity = ItemRequestMapper.mapToEntity(request);
-        return ItemMapper.map(
+        var added = ItemMapper.map(
                 save(ItemMapper.mapToEntity(item, null, userEntity, requestEntity))
         );
+        if (request != null) {
+            incrementRequestVersions(Set.of(request.getId()));
+        }
+        return added;
+    }
+
+    @NonNull
+    @Override
+    @Transactional
+    default List<Item> addNewItems(@NonNull User user, @NonNull List<Item> items) {
+        var userEntity = UserMapper.mapToEntity(user, user.getId());
+        var entities = items.stream()
+                .map(it -> {
+                    var requestId = it.getRequestId();
+                    var requestEntity = requestId == null ? null : ItemRequestEntity.builder().id(requestId).build();
+                    return ItemMapper.mapToEntity(it, null, userEntity, requestEntity);
+                })
+                .collect(Collectors.toList());
+        var added = StreamSupport.stream(saveAll(entities).spliterator(), false)
+                .map(ItemMapper::map)
+                .collect(Collectors.toList());
+        var requestIds = items.stream()
+                .map(Item::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!requestIds.isEmpty()) {
+            incrementRequestVersions(requestIds);
+        }
+        return added;
     }
 
     @Override
     @Transactional
     default void deleteItem(@NonNull Long userId, @NonNull Long itemId) {
         findByIdAndUserId(itemId, userId)
-                .ifPresentOrElse(this::delete, () -> {
+                .ifPresentOrElse(it -> {
+                    incrementRequestVersion(itemId);
+                    delete(it);
+                }, () -> {
                     throw new NotFoundException(String.format("Вещь с идентефикатором %1$s не найдена", itemId));
                 });
     }
@@ -55,10 +98,15 @@ interface JpaItemRepository extends ItemRepository, CrudRepository<ItemEntity, L
     @Override
     @Transactional
     default Item update(@NonNull Long userId, @NonNull Item item) {
-        return findByIdAndUserId(item.getId(), userId)
-                .map(it -> save(ItemMapper.merge(item, it)))
+        var updated = findByIdAndUserId(item.getId(), userId)
+                .map(it -> {
+                    incrementRequestVersion(it.getId());
+                    return save(ItemMapper.merge(item, it));
+                })
                 .map(ItemMapper::map)
                 .orElseThrow(() -> new NotFoundException(String.format("Вещь с идентефикатором %1$s не найдена", item.getId())));
+        incrementVersion(updated.getId());
+        return updated;
     }
 
     @NonNull
@@ -71,19 +119,50 @@ interface JpaItemRepository extends ItemRepository, CrudRepository<ItemEntity, L
 
     @NonNull
     @Override
-    default List<Item> searchBy(@NonNull String text, @NonNull Pageable page) {
-        if (text.isEmpty()) {
-            return Collections.emptyList();
-        }
-        return findAllByQuery(text, page).stream()
+    default ItemVersion getVersion(@NonNull Long itemId) {
+        return findVersionById(itemId)
+                .map(ItemMapper::map)
+                .orElseThrow(() -> new NotFoundException(String.format("Вещь с идентефикатором %1$s не найдена", itemId)));
+    }
+
+    @NonNull
+    @Override
+    default List<Item> findAvailable(@Nullable Long afterId, int limit) {
+        return findAllAvailableAfter(afterId == null ? 0L : afterId, PageRequest.of(0, limit)).stream()
                 .map(ItemMapper::map)
                 .collect(Collectors.toList());
     }
 
-    List<ItemEntity> findAllByUserId(Long userId, Pageable page);
+    @NonNull
+    @Override
+    @EntityGraph(ItemEntity.WITH_OWNER)
+    Optional<ItemEntity> findById(@NonNull Long id);
+
+    @Query(ItemRow.SELECT + "WHERE o.id = ?1 ORDER BY i.id")
+    List<ItemRow> findAllByUserId(Long userId, Pageable page);
+
+    @Query(ItemRow.SELECT + "WHERE i.available = TRUE AND i.id > ?1 ORDER BY i.id")
+    List<ItemRow> findAllAvailableAfter(Long afterId, Pageable page);
 
+    @EntityGraph(ItemEntity.WITH_OWNER)
     Optional<ItemEntity> findByIdAndUserId(Long itemId, Long userId);
 
-    @Query("SELECT i FROM ItemEntity i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%')) AND i.available = TRUE")
-    List<ItemEntity> findAllByQuery(String query, Pageable page);
-}
\ No newline at end of file
+    @Query(ItemVersionRow.SELECT + "WHERE i.id = ?1")
+    Optional<ItemVersionRow> findVersionById(Long itemId);
+
+    @Modifying
+    @Query("UPDATE ItemEntity i SET i.version = i.version + 1 WHERE i.id = ?1")
+    void incrementVersion(Long itemId);
+
+    /**
+     * Request responses list their items, so the request an item answers changes with the item.
+     */
+    @Modifying
+    @Query("UPDATE ItemRequestEntity r SET r.version = r.version + 1 " +
+            "WHERE r.id IN (SELECT i.request.id FROM ItemEntity i WHERE i.id = ?1)")
+    void incrementRequestVersion(Long itemId);
+
+    @Modifying
+    @Query("UPDATE ItemRequestEntity r SET r.version = r.version + 1 WHERE r.id IN ?1")
+    void incrementRequestVersions(Collection<Long> requestIds);
+}
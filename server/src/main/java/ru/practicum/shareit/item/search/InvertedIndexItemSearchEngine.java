@@ -0,0 +1,195 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Every 1-, 2- and 3-gram of the lowercased name and description points to a sorted set of item ids.
+ * Candidates are walked in id order and re-checked against the stored text until the page is filled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = ItemSearchEngine.ENGINE_PROPERTY, havingValue = "index")
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine, ItemSearchIndex {
+    private static final int GRAM_SIZE = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Postings current = new Postings();
+    @Nullable
+    private Map<Long, Optional<Document>> changedDuringRebuild;
+
+    /**
+     * The snapshot is read into fresh postings while searches keep using the old ones. Changes indexed
+     * during the scan are replayed on top before the swap, so a stale row cannot overwrite them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashMap<>();
+        }
+        var fresh = new Postings();
+        try {
+            jdbcTemplate.query(
+                    "SELECT item_id, item_name, item_desc, item_is_available FROM item_table",
+                    rs -> {
+                        fresh.put(rs.getLong(1), new Document(normalize(rs.getString(2)), normalize(rs.getString(3)), rs.getBoolean(4)));
+                    }
+            );
+            synchronized (this) {
+                changedDuringRebuild.forEach((itemId, document) -> {
+                    fresh.remove(itemId);
+                    document.ifPresent(it -> fresh.put(itemId, it));
+                });
+                current = fresh;
+            }
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+        log.info("Search index rebuilt with {} items", fresh.documents.size());
+    }
+
+    @Override
+    public synchronized void index(@NonNull Long itemId, @Nullable String name, @Nullable String description, @Nullable Boolean available) {
+        var document = new Document(normalize(name), normalize(description), Boolean.TRUE.equals(available));
+        current.remove(itemId);
+        current.put(itemId, document);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(itemId, Optional.of(document));
+        }
+    }
+
+    @Override
+    public synchronized void remove(@NonNull Long itemId) {
+        current.remove(itemId);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(itemId, Optional.empty());
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<Long> search(@NonNull String text, @NonNull Pageable page) {
+        var query = normalize(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        var postings = current.postings;
+        var documents = current.documents;
+        List<NavigableSet<Long>> candidates = queryGrams(query).stream()
+                .map(it -> postings.getOrDefault(it, Collections.emptyNavigableSet()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .collect(Collectors.toList());
+
+        var result = new ArrayList<Long>(page.getPageSize());
+        long skip = page.getOffset();
+        for (var itemId : candidates.get(0)) {
+            if (!containsInAll(candidates, itemId)) {
+                continue;
+            }
+            var document = documents.get(itemId);
+            if (document == null || !document.matches(query)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(itemId);
+            if (result.size() == page.getPageSize()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsInAll(List<NavigableSet<Long>> sets, Long itemId) {
+        for (int i = 1; i < sets.size(); i++) {
+            if (!sets.get(i).contains(itemId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> queryGrams(String query) {
+        if (query.length() <= GRAM_SIZE) {
+            return Set.of(query);
+        }
+        var grams = new HashSet<String>();
+        for (int i = 0; i + GRAM_SIZE <= query.length(); i++) {
+            grams.add(query.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static String normalize(@Nullable String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Postings {
+        private final Map<String, NavigableSet<Long>> postings = new ConcurrentHashMap<>();
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+        void put(Long itemId, Document document) {
+            documents.put(itemId, document);
+            for (var gram : document.grams()) {
+                postings.computeIfAbsent(gram, it -> new ConcurrentSkipListSet<>()).add(itemId);
+            }
+        }
+
+        void remove(Long itemId) {
+            var document = documents.remove(itemId);
+            if (document == null) {
+                return;
+            }
+            for (var gram : document.grams()) {
+                postings.computeIfPresent(gram, (key, ids) -> {
+                    ids.remove(itemId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Document {
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        Set<String> grams() {
+            var grams = new HashSet<String>();
+            addGrams(name, grams);
+            addGrams(description, grams);
+            return grams;
+        }
+
+        private static void addGrams(String text, Set<String> grams) {
+            for (int i = 0; i < text.length(); i++) {
+                for (int size = 1; size <= GRAM_SIZE && i + size <= text.length(); size++) {
+                    grams.add(text.substring(i, i + size));
+                }
+            }
+        }
+    }
+}
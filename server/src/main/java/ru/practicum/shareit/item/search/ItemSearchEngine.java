@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    String ENGINE_PROPERTY = "shareit.search.engine";
+
+    @NonNull
+    List<Long> search(@NonNull String text, @NonNull Pageable page);
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+public interface ItemSearchIndex {
+    void index(@NonNull Long itemId, @Nullable String name, @Nullable String description, @Nullable Boolean available);
+
+    void remove(@NonNull Long itemId);
+}
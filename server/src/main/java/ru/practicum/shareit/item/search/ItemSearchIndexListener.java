@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.db.ItemEntity;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class ItemSearchIndexListener {
+    private final ObjectProvider<ItemSearchIndex> index;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(ItemEntity entity) {
+        var itemId = entity.getId();
+        var name = entity.getName();
+        var description = entity.getDescription();
+        var available = entity.getAvailable();
+        afterCommit(it -> it.index(itemId, name, description, available));
+    }
+
+    @PostRemove
+    public void onRemove(ItemEntity entity) {
+        var itemId = entity.getId();
+        afterCommit(it -> it.remove(itemId));
+    }
+
+    private void afterCommit(Consumer<ItemSearchIndex> action) {
+        var searchIndex = index.getIfAvailable();
+        if (searchIndex == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(searchIndex);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.accept(searchIndex);
+            }
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PostgreSQL search backed by the pg_trgm GIN indexes from schema-postgresql.sql.
+ * Matches are ordered by trigram similarity of the name or the description to the query.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = ItemSearchEngine.ENGINE_PROPERTY, havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private static final String SEARCH_QUERY = "SELECT i.item_id FROM item_table i " +
+            "WHERE i.item_is_available = TRUE " +
+            "AND (LOWER(i.item_name) LIKE :pattern OR LOWER(i.item_desc) LIKE :pattern) " +
+            "ORDER BY GREATEST(similarity(LOWER(i.item_name), :text), similarity(LOWER(i.item_desc), :text)) DESC, i.item_id " +
+            "LIMIT :limit OFFSET :offset";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @NonNull
+    @Override
+    public List<Long> search(@NonNull String text, @NonNull Pageable page) {
+        var query = text.toLowerCase(Locale.ROOT);
+        var parameters = new MapSqlParameterSource()
+                .addValue("text", query)
+                .addValue("pattern", "%" + escapeLike(query) + "%")
+                .addValue("limit", page.getPageSize())
+                .addValue("offset", page.getOffset());
+        return jdbcTemplate.queryForList(SEARCH_QUERY, parameters, Long.class);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
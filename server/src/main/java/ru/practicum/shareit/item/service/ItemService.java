@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.service;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -23,9 +25,15 @@ public interface ItemService {
     @NonNull
     Item getItem(@NonNull Long userId, @NonNull Long itemId);
 
+    @NonNull
+    String getItemTag(@NonNull Long userId, @NonNull Long itemId);
+
     @NonNull
     List<Item> searchBy(@NonNull String text, @NonNull Pageable pageable);
 
+    @NonNull
+    List<Item> getAvailable(@Nullable String text, @NonNull LocalDateTime start, @NonNull LocalDateTime end, @NonNull Pageable pageable);
+
     @NonNull
     Comment createComment(@NonNull Long userId, @NonNull Long itemId, @NonNull Comment comment);
 }
@@ -1,10 +1,15 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
+import ru.practicum.shareit.booking.availability.AvailabilityIndexUpdater;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.NearestBookings;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.item.model.Comment;
@@ -16,26 +21,31 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 class ItemServiceImpl implements ItemService {
+    private static final int AVAILABLE_BATCH_SIZE = 100;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final AvailabilityIndexUpdater availabilityIndexUpdater;
 
     @NonNull
     @Override
     public List<Item> getItems(@NonNull Long userId, @NonNull Pageable pageable) {
         User user = userRepository.getById(userId);
-        return itemRepository.getItems(user.getId(), pageable)
-                .stream()
-                .map(it -> inflateMore(it, true))
-                .collect(Collectors.toList());
+        return inflateMore(itemRepository.getItems(user.getId(), pageable));
     }
 
     @NonNull
@@ -50,6 +60,7 @@ class ItemServiceImpl implements ItemService {
     public void deleteItem(@NonNull Long userId, @NonNull Long itemId) {
         User user = userRepository.getById(userId);
         itemRepository.deleteItem(user.getId(), itemId);
+        availabilityIndexUpdater.onItemDeleted(itemId);
     }
 
     @NonNull
@@ -67,12 +78,68 @@ class ItemServiceImpl implements ItemService {
         return inflateMore(item, item.getOwner().getId().equals(userId));
     }
 
+    @NonNull
+    @Override
+    public String getItemTag(@NonNull Long userId, @NonNull Long itemId) {
+        userRepository.getById(userId);
+        var version = itemRepository.getVersion(itemId);
+        var tag = String.format("i%1$d-%2$d", version.getId(), version.getVersion());
+        if (!version.getOwnerId().equals(userId)) {
+            return tag;
+        }
+        var nearest = bookingRepository.findNearestApproved(List.of(itemId))
+                .getOrDefault(itemId, NearestBookings.EMPTY);
+        return String.format("%1$s-%2$d-%3$d", tag, bookingId(nearest.getLast()), bookingId(nearest.getNext()));
+    }
+
     @NonNull
     @Override
     public List<Item> searchBy(@NonNull String text, @NonNull Pageable pageable) {
         return itemRepository.searchBy(text, pageable);
     }
 
+    /**
+     * Candidates are read in batches, from the search engine when {@code text} is given and in id
+     * order otherwise, and dropped when the availability index has a booking in the range.
+     */
+    @NonNull
+    @Override
+    public List<Item> getAvailable(@Nullable String text, @NonNull LocalDateTime start, @NonNull LocalDateTime end, @NonNull Pageable pageable) {
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("Дата начала должна быть раньше даты окончания");
+        }
+        if (text != null && text.isBlank()) {
+            return Collections.emptyList();
+        }
+        var skip = pageable.getOffset();
+        var result = new ArrayList<Item>(pageable.getPageSize());
+        Long afterId = null;
+        for (int batch = 0; result.size() < pageable.getPageSize(); batch++) {
+            var candidates = text == null
+                    ? itemRepository.findAvailable(afterId, AVAILABLE_BATCH_SIZE)
+                    : itemRepository.searchBy(text, PageRequest.of(batch, AVAILABLE_BATCH_SIZE));
+            var free = new HashSet<>(availabilityIndex.filterFree(candidates.stream()
+                    .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                    .map(Item::getId)
+                    .collect(Collectors.toList()), start, end));
+            for (var item : candidates) {
+                if (!free.contains(item.getId())) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else if (result.size() < pageable.getPageSize()) {
+                    result.add(item);
+                }
+            }
+            if (candidates.size() < AVAILABLE_BATCH_SIZE) {
+                break;
+            }
+            afterId = candidates.get(candidates.size() - 1).getId();
+        }
+        return result;
+    }
+
     @NonNull
     @Override
     public Comment createComment(@NonNull Long userId, @NonNull Long itemId, @NonNull Comment comment) {
@@ -90,12 +157,39 @@ class ItemServiceImpl implements ItemService {
         var builder = item.toBuilder()
                 .comments(commentRepository.find(item.getId()));
         if (loadLastAndNext) {
-            builder.last(bookingRepository.findLastApproved(item.getId()))
-                    .next(bookingRepository.findNextApproved(item.getId()));
+            var nearest = bookingRepository.findNearestApproved(List.of(item.getId()))
+                    .getOrDefault(item.getId(), NearestBookings.EMPTY);
+            builder.last(nearest.getLast())
+                    .next(nearest.getNext());
         }
         return builder.build();
     }
 
+    private List<Item> inflateMore(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        var itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        var comments = commentRepository.find(itemIds);
+        var bookings = bookingRepository.findNearestApproved(itemIds);
+        return items.stream()
+                .map(it -> {
+                    var nearest = bookings.getOrDefault(it.getId(), NearestBookings.EMPTY);
+                    return it.toBuilder()
+                            .comments(comments.getOrDefault(it.getId(), Collections.emptyList()))
+                            .last(nearest.getLast())
+                            .next(nearest.getNext())
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static long bookingId(@Nullable Booking booking) {
+        return booking == null ? 0 : booking.getId();
+    }
+
     @Nullable
     private ItemRequest getItemRequest(Item item) {
         ItemRequest request = null;
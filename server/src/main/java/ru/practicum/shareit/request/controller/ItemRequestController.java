@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.Utils;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -36,14 +38,23 @@ public class ItemRequestController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The tag is looked up on its own only to answer If-None-Match. Otherwise it comes from the request loaded
+     * for the body, so a first read costs no extra query.
+     */
     @GetMapping("/{requestId}")
     public ItemRequestDto getById(
             @RequestHeader(X_SHARER_USER_ID_HEADER) Long userId,
-            @PathVariable Long requestId
+            @PathVariable Long requestId,
+            WebRequest webRequest
     ) {
-        return ItemRequestMapper.mapToDto(
-                service.getById(userId, requestId)
-        );
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(service.getTag(userId, requestId))) {
+            return null;
+        }
+        var request = service.getById(userId, requestId);
+        webRequest.checkNotModified(ItemRequestMapper.mapToTag(request.getId(), request.getVersion()));
+        return ItemRequestMapper.mapToDto(request);
     }
 
     @GetMapping("/all")
@@ -19,7 +19,8 @@ import java.util.Collection;
 @AllArgsConstructor
 public class ItemRequestEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_seq")
+    @SequenceGenerator(name = "request_seq", sequenceName = "request_seq", allocationSize = 50)
     @Column(name = "request_id", nullable = false)
     private Long id;
 
@@ -35,4 +36,10 @@ public class ItemRequestEntity {
 
     @OneToMany(mappedBy = "request")
     private Collection<ItemEntity> items;
+
+    /**
+     * Bumped whenever an item answering the request is added, changed or deleted.
+     */
+    @Column(name = "request_version", insertable = false, updatable = false)
+    private Long version;
 }
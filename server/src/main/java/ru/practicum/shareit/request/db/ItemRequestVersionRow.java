@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemRequestVersionRow {
+    public static final String SELECT = "SELECT new ru.practicum.shareit.request.db.ItemRequestVersionRow(" +
+            "r.id, r.version) " +
+            "FROM ItemRequestEntity r ";
+
+    private final Long id;
+    private final Long version;
+}
@@ -6,8 +6,10 @@ import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.db.ItemRequestEntity;
+import ru.practicum.shareit.request.db.ItemRequestVersionRow;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestVersion;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 import java.util.stream.Collectors;
@@ -23,6 +25,19 @@ public class ItemRequestMapper {
                 .build();
     }
 
+    @NonNull
+    public static ItemRequestVersion map(@NonNull ItemRequestVersionRow row) {
+        return ItemRequestVersion.builder()
+                .id(row.getId())
+                .version(row.getVersion())
+                .build();
+    }
+
+    @NonNull
+    public static String mapToTag(@NonNull Long requestId, @Nullable Long version) {
+        return String.format("r%1$d-%2$d", requestId, version == null ? 0 : version);
+    }
+
     @NonNull
     public static ItemRequestDto mapToDto(@NonNull ItemRequest request) {
         var builder = ItemRequestDto.builder()
@@ -69,7 +84,8 @@ public class ItemRequestMapper {
                 .id(entity.getId())
                 .description(entity.getDescription())
                 .creator(UserMapper.map(entity.getCreator()))
-                .createAt(entity.getDate());
+                .createAt(entity.getDate())
+                .version(entity.getVersion());
 
         var items = entity.getItems();
         if (items != null) {
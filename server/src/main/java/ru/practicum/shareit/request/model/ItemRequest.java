@@ -16,4 +16,5 @@ public class ItemRequest {
     private final User creator;
     private final LocalDateTime createAt;
     private final List<Item> items;
+    private final Long version;
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder(toBuilder = true)
+public class ItemRequestVersion {
+    private final Long id;
+    private final long version;
+}
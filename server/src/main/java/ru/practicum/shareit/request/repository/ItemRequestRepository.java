@@ -3,9 +3,12 @@ package ru.practicum.shareit.request.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestVersion;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ItemRequestRepository {
     @NonNull
@@ -19,4 +22,10 @@ public interface ItemRequestRepository {
 
     @NonNull
     List<ItemRequest> getAll(@NonNull Long userId, @NonNull Pageable page);
+
+    @NonNull
+    ItemRequestVersion getVersion(@NonNull Long requestId);
+
+    @NonNull
+    Set<Long> findExistingIds(@NonNull Collection<Long> requestIds);
 }
@@ -1,18 +1,24 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.request.db.ItemRequestEntity;
+import ru.practicum.shareit.request.db.ItemRequestVersionRow;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestVersion;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Repository
@@ -53,7 +59,23 @@ interface JpaItemRequestRepository extends ItemRequestRepository, CrudRepository
                 .collect(Collectors.toList());
     }
 
+    @NonNull
+    @Override
+    default ItemRequestVersion getVersion(@NonNull Long requestId) {
+        return findVersionById(requestId)
+                .map(ItemRequestMapper::map)
+                .orElseThrow(() -> new NotFoundException(String.format("Запрос вещи с идентификатором %1$s не найден", requestId)));
+    }
+
+    @NonNull
+    @Override
+    @Query("SELECT r.id FROM ItemRequestEntity r WHERE r.id IN ?1")
+    Set<Long> findExistingIds(@NonNull Collection<Long> requestIds);
+
     List<ItemRequestEntity> findByCreatorIdOrderByDateAsc(Long userId);
 
     List<ItemRequestEntity> findByCreatorIdNotOrderByDateAsc(Long userId, Pageable page);
+
+    @Query(ItemRequestVersionRow.SELECT + "WHERE r.id = ?1")
+    Optional<ItemRequestVersionRow> findVersionById(Long requestId);
 }
\ No newline at end of file
@@ -18,4 +18,7 @@ public interface ItemRequestService {
 
     @NonNull
     List<ItemRequest> getAll(@NonNull Long userId, @NonNull Pageable pageable);
+
+    @NonNull
+    String getTag(@NonNull Long userId, @NonNull Long requestId);
 }
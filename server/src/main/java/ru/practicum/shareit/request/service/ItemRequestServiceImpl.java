@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -43,4 +44,12 @@ class ItemRequestServiceImpl implements ItemRequestService {
         userRepository.getById(userId);
         return itemRequestRepository.getAll(userId, pageable);
     }
+
+    @NonNull
+    @Override
+    public String getTag(@NonNull Long userId, @NonNull Long requestId) {
+        userRepository.getById(userId);
+        var version = itemRequestRepository.getVersion(requestId);
+        return ItemRequestMapper.mapToTag(version.getId(), version.getVersion());
+    }
 }
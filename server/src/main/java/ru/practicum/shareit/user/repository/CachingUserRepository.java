@@ -0,0 +1,71 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.ReadThroughCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+/**
+ * Serves {@link #getById} from memory: most service calls start with it only to check that the caller exists.
+ * Cached items embed their owner, so user changes also reach the item cache.
+ */
+@Primary
+@Component
+@RequiredArgsConstructor
+class CachingUserRepository implements UserRepository {
+    private final JpaUserRepository delegate;
+    private final ReadThroughCache<Long, User> cache;
+    private final ReadThroughCache<Long, Item> itemCache;
+
+    @NonNull
+    @Override
+    public User getById(@NonNull Long userId) {
+        return cache.get(userId, delegate::getById);
+    }
+
+    @NonNull
+    @Override
+    public User addUser(@NonNull User user) {
+        return delegate.addUser(user);
+    }
+
+    @NonNull
+    @Override
+    public List<User> getAllUsers() {
+        return delegate.getAllUsers();
+    }
+
+    /**
+     * The owner's items are evicted too, as they carry the old name and email.
+     */
+    @NonNull
+    @Override
+    public User updateUser(@NonNull User user) {
+        try {
+            return delegate.updateUser(user);
+        } finally {
+            var userId = user.getId();
+            cache.evict(userId);
+            itemCache.evictIf(item -> item.getOwner() != null && userId.equals(item.getOwner().getId()));
+        }
+    }
+
+    /**
+     * The delete cascades to the user's items, and the whole item cache is cleared rather than only those:
+     * every other user then misses once per item, which is acceptable because user deletes are rare.
+     */
+    @Override
+    public void deleteUser(@NonNull Long userId) {
+        try {
+            delegate.deleteUser(userId);
+        } finally {
+            cache.evict(userId);
+            itemCache.clear();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
@@ -50,14 +52,35 @@ interface JpaUserRepository extends UserRepository, CrudRepository<UserEntity, L
     @Override
     @Transactional
     default User updateUser(@NonNull User user) {
-        return findById(user.getId())
-                .map(it -> save(UserMapper.merge(user, it)))
-                .map(UserMapper::map)
-                .orElseThrow();
+        var entity = findById(user.getId()).orElseThrow();
+        var renamed = user.getName() != null && !user.getName().equals(entity.getName());
+        var updated = UserMapper.map(save(UserMapper.merge(user, entity)));
+        if (renamed) {
+            incrementCommentedItemVersions(user.getId());
+        }
+        return updated;
     }
 
     @Override
+    @Transactional
     default void deleteUser(@NonNull Long userId) {
+        incrementAnsweredRequestVersions(userId);
         deleteById(userId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Item responses carry comment author names, so their ETags must change when an author is renamed.
+     */
+    @Modifying
+    @Query("UPDATE ItemEntity i SET i.version = i.version + 1 " +
+            "WHERE i.id IN (SELECT c.item.id FROM CommentEntity c WHERE c.author.id = ?1)")
+    void incrementCommentedItemVersions(Long userId);
+
+    /**
+     * The user's items are deleted with them, which changes the requests those items answer.
+     */
+    @Modifying
+    @Query("UPDATE ItemRequestEntity r SET r.version = r.version + 1 " +
+            "WHERE r.id IN (SELECT i.request.id FROM ItemEntity i WHERE i.user.id = ?1)")
+    void incrementAnsweredRequestVersions(Long userId);
+}
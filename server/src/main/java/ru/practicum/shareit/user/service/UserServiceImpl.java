@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.AvailabilityIndexUpdater;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -12,6 +13,7 @@ import java.util.List;
 @Service
 class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final AvailabilityIndexUpdater availabilityIndexUpdater;
 
     @Override
     public User addUser(@NonNull User user) {
@@ -37,6 +39,6 @@ class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUser(@NonNull Long userId) {
-        userRepository.deleteUser(userId);
+        availabilityIndexUpdater.deleteUser(userId, () -> userRepository.deleteUser(userId));
     }
 }
@@ -0,0 +1,65 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS IX_ITEM_NAME_TRGM ON item_table USING GIN (LOWER(item_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS IX_ITEM_DESC_TRGM ON item_table USING GIN (LOWER(item_desc) gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Databases created before the exclusion constraint may already hold overlapping APPROVED bookings of one
+-- item, which would make adding it fail on every startup. Before the constraint is added, approved bookings
+-- are walked in id order and each one that overlaps an earlier approved booking of the same item still kept
+-- is set to REJECTED, so the booking approved first wins. Every rejected booking is reported with a WARNING.
+DO '
+DECLARE
+    legacy RECORD;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_booking_item_approved_overlap'') THEN
+        FOR legacy IN
+            SELECT b.booking_id, b.booking_item_id, b.booking_start_date, b.booking_end_date
+            FROM booking_table b
+            WHERE b.booking_status = ''APPROVED''
+              AND EXISTS (SELECT 1 FROM booking_table e
+                          WHERE e.booking_item_id = b.booking_item_id
+                            AND e.booking_status = ''APPROVED''
+                            AND e.booking_id < b.booking_id
+                            AND e.booking_start_date < b.booking_end_date
+                            AND e.booking_end_date > b.booking_start_date)
+            ORDER BY b.booking_id
+        LOOP
+            IF EXISTS (SELECT 1 FROM booking_table e
+                       WHERE e.booking_item_id = legacy.booking_item_id
+                         AND e.booking_status = ''APPROVED''
+                         AND e.booking_id < legacy.booking_id
+                         AND e.booking_start_date < legacy.booking_end_date
+                         AND e.booking_end_date > legacy.booking_start_date) THEN
+                UPDATE booking_table SET booking_status = ''REJECTED'' WHERE booking_id = legacy.booking_id;
+                RAISE WARNING ''Booking % of item % overlaps an earlier approved booking and was rejected'',
+                    legacy.booking_id, legacy.booking_item_id;
+            END IF;
+        END LOOP;
+        ALTER TABLE booking_table ADD CONSTRAINT ex_booking_item_approved_overlap
+            EXCLUDE USING gist (booking_item_id WITH =, tsrange(booking_start_date, booking_end_date) WITH &&)
+            WHERE (booking_status = ''APPROVED'');
+    END IF;
+END';
+
+SELECT setval('user_seq', GREATEST(
+    (SELECT COALESCE(MAX(user_id), 0) + 1 FROM user_table),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM user_seq)), false);
+
+SELECT setval('request_seq', GREATEST(
+    (SELECT COALESCE(MAX(request_id), 0) + 1 FROM request_table),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM request_seq)), false);
+
+SELECT setval('item_seq', GREATEST(
+    (SELECT COALESCE(MAX(item_id), 0) + 1 FROM item_table),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM item_seq)), false);
+
+SELECT setval('booking_seq', GREATEST(
+    (SELECT COALESCE(MAX(booking_id), 0) + 1 FROM booking_table),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM booking_seq)), false);
+
+SELECT setval('comment_seq', GREATEST(
+    (SELECT COALESCE(MAX(comment_id), 0) + 1 FROM comment_table),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM comment_seq)), false);
@@ -1,29 +1,37 @@
+CREATE SEQUENCE IF NOT EXISTS user_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS user_table (
-    user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id BIGINT NOT NULL,
     user_name VARCHAR(255) NOT NULL,
     user_email VARCHAR(512) NOT NULL,
     CONSTRAINT PK_USER PRIMARY KEY (user_id),
     CONSTRAINT UQ_USER_EMAIL UNIQUE (user_email)
 );
 
+CREATE SEQUENCE IF NOT EXISTS request_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS request_table (
-    request_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    request_id BIGINT NOT NULL,
     request_desc VARCHAR(512) NOT NULL,
     request_date TIMESTAMP NOT NULL,
     request_creator_id BIGINT NOT NULL,
+    request_version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT PK_REQUEST PRIMARY KEY (request_id),
     CONSTRAINT FK_REQUEST_CREATOR FOREIGN KEY (request_creator_id)
             REFERENCES user_table(user_id)
             ON DELETE CASCADE
 );
 
+CREATE SEQUENCE IF NOT EXISTS item_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS item_table (
-    item_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    item_id BIGINT NOT NULL,
     item_name VARCHAR(255) NOT NULL,
     item_desc VARCHAR(255) NOT NULL,
     item_owner_id BIGINT NOT NULL,
     item_is_available BOOLEAN,
     item_request_id  BIGINT,
+    item_version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT PK_ITEM PRIMARY KEY (item_id),
     CONSTRAINT FK_USER FOREIGN KEY (item_owner_id)
         REFERENCES user_table(user_id)
@@ -33,10 +41,16 @@ CREATE TABLE IF NOT EXISTS item_table (
             ON DELETE CASCADE
 );
 
+ALTER TABLE item_table ADD COLUMN IF NOT EXISTS item_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE request_table ADD COLUMN IF NOT EXISTS request_version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TYPE IF NOT EXISTS booking_status_enum AS ENUM ('WAITING', 'REJECTED', 'APPROVED');
 
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS booking_table (
-    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    booking_id BIGINT NOT NULL,
     booking_item_id BIGINT NOT NULL,
     booking_booker_id BIGINT NOT NULL,
     booking_start_date TIMESTAMP NOT NULL,
@@ -51,8 +65,10 @@ CREATE TABLE IF NOT EXISTS booking_table (
             ON DELETE CASCADE
 );
 
+CREATE SEQUENCE IF NOT EXISTS comment_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS comment_table (
-    comment_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    comment_id BIGINT NOT NULL,
     comment_text VARCHAR(512) NOT NULL,
     comment_item_id BIGINT NOT NULL,
     comment_author_id BIGINT NOT NULL,
@@ -64,4 +80,14 @@ CREATE TABLE IF NOT EXISTS comment_table (
     CONSTRAINT FK_COMMENT_AUTHOR FOREIGN KEY (comment_author_id)
             REFERENCES user_table(user_id)
             ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS IX_ITEM_OWNER ON item_table (item_owner_id, item_id);
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUEST ON item_table (item_request_id);
+CREATE INDEX IF NOT EXISTS IX_REQUEST_CREATOR_DATE ON request_table (request_creator_id, request_date);
+CREATE INDEX IF NOT EXISTS IX_COMMENT_ITEM ON comment_table (comment_item_id);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_START ON booking_table (booking_booker_id, booking_start_date DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_STATUS_START ON booking_table (booking_booker_id, booking_status, booking_start_date DESC);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_START ON booking_table (booking_item_id, booking_start_date DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_STATUS_START ON booking_table (booking_item_id, booking_status, booking_start_date);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_STATUS_END ON booking_table (booking_item_id, booking_status, booking_end_date);
@@ -11,6 +11,7 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class TestUtils {
@@ -23,7 +24,7 @@ public final class TestUtils {
     public static final Long COMMENT_ID = 1L;
     public static final Integer SIZE = 10;
     public static final Integer FROM = 0;
-    public static final LocalDateTime REQUEST_TIME = LocalDateTime.now();
+    public static final LocalDateTime REQUEST_TIME = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
     public static final User USER_1 = User.builder()
             .id(USER_ID_1)
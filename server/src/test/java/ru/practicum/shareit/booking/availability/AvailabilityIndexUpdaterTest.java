@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.TestUtils.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIndexUpdaterTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final IntervalAvailabilityIndex index = new IntervalAvailabilityIndex();
+    private AvailabilityIndexUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        updater = new AvailabilityIndexUpdater(jdbcTemplate, index);
+    }
+
+    @Test
+    void rebuildShouldKeepApprovalCommittedBeforeClear() {
+        var approved = BOOKING.toBuilder().status(BookingStatus.APPROVED).build();
+        when(jdbcTemplate.queryForMap(anyString())).thenAnswer(it -> {
+            updater.onStatusChanged(approved);
+            return Map.of("approved", 0L, "last_id", 0L);
+        });
+
+        updater.rebuild();
+
+        assertFalse(index.isFree(ITEM_ID_1, approved.getStart(), approved.getEnd()));
+    }
+
+    @Test
+    void onItemDeletedShouldFreeItem() {
+        index.add(ITEM_ID_1, BOOKING_ID, BOOKING.getStart(), BOOKING.getEnd());
+
+        updater.onItemDeleted(ITEM_ID_1);
+
+        assertTrue(index.isFree(ITEM_ID_1, BOOKING.getStart(), BOOKING.getEnd()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteUserShouldFreeOwnedAndBookedItemsAfterDelete() {
+        index.add(ITEM_ID_1, 1L, BOOKING.getStart(), BOOKING.getEnd());
+        index.add(ITEM_ID_2, 2L, BOOKING.getStart(), BOOKING.getEnd());
+        index.add(ITEM_ID_2, 3L, BOOKING.getEnd(), BOOKING.getEnd().plusDays(1));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(USER_ID_1))).thenReturn(List.of(ITEM_ID_1));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(USER_ID_1))).thenReturn(List.of(new long[]{ITEM_ID_2, 2L}));
+        var deleted = new boolean[1];
+
+        updater.deleteUser(USER_ID_1, () -> {
+            assertFalse(index.isFree(ITEM_ID_1, BOOKING.getStart(), BOOKING.getEnd()));
+            deleted[0] = true;
+        });
+
+        assertTrue(deleted[0]);
+        assertTrue(index.isFree(ITEM_ID_1, BOOKING.getStart(), BOOKING.getEnd()));
+        assertTrue(index.isFree(ITEM_ID_2, BOOKING.getStart(), BOOKING.getEnd()));
+        assertFalse(index.isFree(ITEM_ID_2, BOOKING.getEnd(), BOOKING.getEnd().plusDays(1)));
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.TestUtils.*;
+
+@ExtendWith(MockitoExtension.class)
+class DayBitmapAvailabilityIndexTest {
+    private static final int DAYS = 128;
+    private static final long FAR_ITEM_ID = 5000L;
+    private static final long UNMAPPED_ITEM_ID = 100_000L;
+    private static final int BASE_DAY_OFFSET = 16;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path dir;
+
+    private DayBitmapAvailabilityIndex index;
+
+    @BeforeEach
+    void fill() {
+        index = open(dir.resolve("availability.bin"));
+        index.add(ITEM_ID_1, 1L, REQUEST_TIME.plusDays(1), REQUEST_TIME.plusDays(3));
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        index.destroy();
+    }
+
+    @Test
+    void isFreeWithBusyInnerDayShouldReturnFalseWithoutQuery() {
+        assertFalse(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+        assertTrue(index.isFree(ITEM_ID_1, REQUEST_TIME.plusDays(5), REQUEST_TIME.plusDays(10)));
+        assertTrue(index.isFree(ITEM_ID_2, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void isFreeWithBusyEdgeDayShouldAskDatabase() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any(), any())).thenReturn(0L);
+
+        assertTrue(index.isFree(ITEM_ID_1, REQUEST_TIME.plusDays(3), REQUEST_TIME.plusDays(5)));
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class),
+                eq(ITEM_ID_1), eq(REQUEST_TIME.plusDays(5)), eq(REQUEST_TIME.plusDays(3)));
+    }
+
+    @Test
+    void filterFreeShouldKeepOnlyItemsWithoutBookings() {
+        index.add(FAR_ITEM_ID, 2L, REQUEST_TIME.plusDays(1), REQUEST_TIME.plusDays(3));
+
+        var itemIds = List.of(ITEM_ID_1, ITEM_ID_2, FAR_ITEM_ID, UNMAPPED_ITEM_ID);
+
+        assertEquals(List.of(ITEM_ID_2, UNMAPPED_ITEM_ID), index.filterFree(itemIds, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+        verifyNoInteractions(jdbcTemplate);
+
+        index.remove(ITEM_ID_1, 1L);
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(ITEM_ID_1));
+        assertEquals(List.of(ITEM_ID_1, ITEM_ID_2, UNMAPPED_ITEM_ID), index.filterFree(itemIds, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+    }
+
+    @Test
+    void reopenAfterCleanShutdownShouldKeepBookings() throws IOException {
+        index.destroy();
+        index = open(dir.resolve("availability.bin"));
+
+        assertTrue(index.isCurrent(1, 1L));
+        assertFalse(index.isCurrent(2, 3L));
+        assertFalse(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+    }
+
+    @Test
+    void openWhileFileIsInUseShouldThrowIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> open(dir.resolve("availability.bin")));
+    }
+
+    @Test
+    void reopenAfterCrashShouldRequireRebuild() throws IOException {
+        var crashed = Files.copy(dir.resolve("availability.bin"), dir.resolve("crashed.bin"));
+        var reopened = open(crashed);
+
+        assertFalse(reopened.isCurrent(1, 1L));
+        assertTrue(reopened.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+        reopened.destroy();
+    }
+
+    @Test
+    void filterFreeAfterHalfWindowShouldRebaseFromDatabase() throws IOException {
+        var file = dir.resolve("availability.bin");
+        index.destroy();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, LocalDate.now().toEpochDay() - DAYS / 2), BASE_DAY_OFFSET);
+        }
+        doAnswer(it -> {
+            var rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(ITEM_ID_2);
+            when(rs.getLong(2)).thenReturn(2L);
+            when(rs.getTimestamp(3)).thenReturn(Timestamp.valueOf(REQUEST_TIME.plusDays(1)));
+            when(rs.getTimestamp(4)).thenReturn(Timestamp.valueOf(REQUEST_TIME.plusDays(3)));
+            it.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any(), any())).thenReturn(0L);
+        index = open(file);
+
+        index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(10));
+
+        verify(jdbcTemplate, timeout(1000)).query(anyString(), any(RowCallbackHandler.class));
+        index.destroy();
+        index = open(file);
+        clearInvocations(jdbcTemplate);
+        assertTrue(index.isCurrent(1, 2L));
+        assertTrue(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+        assertFalse(index.isFree(ITEM_ID_2, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private DayBitmapAvailabilityIndex open(Path file) {
+        return new DayBitmapAvailabilityIndex(jdbcTemplate, file.toString(), DAYS);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestUtils.*;
+
+class IntervalAvailabilityIndexTest {
+    private final IntervalAvailabilityIndex index = new IntervalAvailabilityIndex();
+
+    @BeforeEach
+    void fill() {
+        index.add(ITEM_ID_1, 1L, REQUEST_TIME.plusDays(1), REQUEST_TIME.plusDays(3));
+        index.add(ITEM_ID_1, 2L, REQUEST_TIME.plusDays(5), REQUEST_TIME.plusDays(6));
+    }
+
+    @Test
+    void isFreeForOverlappingRangeShouldReturnFalse() {
+        assertFalse(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(2)));
+        assertFalse(index.isFree(ITEM_ID_1, REQUEST_TIME.plusDays(2), REQUEST_TIME.plusDays(4)));
+        assertFalse(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+        assertFalse(index.isFree(ITEM_ID_1, REQUEST_TIME.plusDays(5).plusHours(1), REQUEST_TIME.plusDays(5).plusHours(2)));
+    }
+
+    @Test
+    void isFreeForGapOrAdjacentRangeShouldReturnTrue() {
+        assertTrue(index.isFree(ITEM_ID_1, REQUEST_TIME.plusDays(3), REQUEST_TIME.plusDays(5)));
+        assertTrue(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(1)));
+        assertTrue(index.isFree(ITEM_ID_1, REQUEST_TIME.plusDays(6), REQUEST_TIME.plusDays(7)));
+        assertTrue(index.isFree(ITEM_ID_2, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+    }
+
+    @Test
+    void removeShouldFreeRange() {
+        index.remove(ITEM_ID_1, 1L);
+
+        assertTrue(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(4)));
+        assertFalse(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+
+        index.clear();
+
+        assertTrue(index.isFree(ITEM_ID_1, REQUEST_TIME, REQUEST_TIME.plusDays(10)));
+    }
+}
@@ -7,10 +7,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.Utils;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingCursorMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -18,10 +23,13 @@ import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.Const.*;
 import static ru.practicum.shareit.TestUtils.*;
@@ -299,6 +307,30 @@ class BookingControllerTest {
                 .getRequestById(USER_ID_1, BOOKING_ID);
     }
 
+    @Test
+    @SneakyThrows
+    void getByIdWithSpentDeadlineShouldReturnGatewayTimeout() {
+        mockMvc.perform(get("/bookings/{bookingId}", BOOKING_ID)
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .header(X_DEADLINE_HEADER, 0))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(service, never())
+                .getRequestById(any(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void getByIdWithTimedOutQueryShouldReturnGatewayTimeout() {
+        when(service.getRequestById(any(), anyLong()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        mockMvc.perform(get("/bookings/{bookingId}", BOOKING_ID)
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .header(X_DEADLINE_HEADER, 1000))
+                .andExpect(status().isGatewayTimeout());
+    }
+
     @Test
     @SneakyThrows
     void getByIdWithWrongBookingIdShouldReturnNotFound() {
@@ -526,4 +558,98 @@ class BookingControllerTest {
         verify(service, never())
                 .getAllRequestsForOwner(anyLong(), any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAllRequestsWithFullKeysetPageShouldReturnNextCursorHeader() {
+        var booking = map(BookingDto.builder()
+                .id(BOOKING_ID)
+                .start(REQUEST_TIME.plusDays(1L))
+                .end(REQUEST_TIME.plusDays(2L))
+                .build());
+        var after = BookingCursor.builder()
+                .start(REQUEST_TIME)
+                .id(BOOKING_ID + 1)
+                .build();
+        when(service.getAllRequests(anyLong(), any(), any(), anyInt()))
+                .thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/bookings")
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .param(STATE_REQUEST_PARAM, STATE.toString())
+                        .param(SIZE_REQUEST_PARAM, "1")
+                        .param(AFTER_REQUEST_PARAM, BookingCursorMapper.mapToToken(after)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, BookingCursorMapper.mapToToken(BookingCursorMapper.map(booking))));
+
+        verify(service, times(1))
+                .getAllRequests(USER_ID_1, STATE, after, 1);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllRequestsForOwnerWithEmptyCursorShouldStartFromFirstPage() {
+        when(service.getAllRequestsForOwner(anyLong(), any(), any(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .param(AFTER_REQUEST_PARAM, ""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER))
+                .andExpect(content().json(objectMapper.writeValueAsString(Collections.emptyList())));
+
+        verify(service, times(1))
+                .getAllRequestsForOwner(USER_ID_1, STATE, null, SIZE);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllRequestsWithWrongCursorShouldReturnBadRequest() {
+        mockMvc.perform(get("/bookings")
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .param(AFTER_REQUEST_PARAM, "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never())
+                .getAllRequests(anyLong(), any(), any(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportAllRequestsForOwnerShouldWriteOneLinePerBooking() {
+        var booking = map(BookingDto.builder()
+                .id(BOOKING_ID)
+                .start(REQUEST_TIME.plusDays(1L))
+                .end(REQUEST_TIME.plusDays(2L))
+                .build());
+        doAnswer(it -> {
+            Consumer<Booking> action = it.getArgument(2);
+            action.accept(booking);
+            action.accept(booking);
+            return null;
+        }).when(service).exportAllRequestsForOwner(anyLong(), any(), any());
+
+        var line = objectMapper.writeValueAsString(BookingMapper.mapToDto(booking)) + "\n";
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line + line));
+
+        verify(service, times(1))
+                .exportAllRequestsForOwner(eq(USER_ID_1), eq(STATE), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportAllRequestsWithUnknownStateShouldReturnBadRequest() {
+        mockMvc.perform(get("/bookings/export")
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .param(STATE_REQUEST_PARAM, "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never())
+                .exportAllRequests(anyLong(), any(), any());
+    }
+}
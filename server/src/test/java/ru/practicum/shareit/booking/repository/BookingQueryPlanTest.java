@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.Utils;
+import ru.practicum.shareit.booking.mapper.BookingCursorMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.mapper.UserMapper;
+
+import javax.persistence.EntityManager;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static ru.practicum.shareit.TestUtils.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.booking.repository.BookingQueryPlanTest$CapturingStatementInspector")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingQueryPlanTest {
+    private static final String FULL_SCAN = ".TABLESCAN";
+
+    private final JpaBookingRepository repository;
+    private final EntityManager em;
+
+    @BeforeEach
+    void fill() {
+        var userEntity = UserMapper.mapToEntity(USER_1, null);
+        em.persist(userEntity);
+        var itemEntity = ItemMapper.mapToEntity(ITEM_1, null, userEntity, null);
+        em.persist(itemEntity);
+        repository.save(BookingMapper.mapToEntity(BOOKING, userEntity, itemEntity));
+        em.flush();
+        em.clear();
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DirtiesContext
+    void bookingQueriesShouldNotScanWholeTables() {
+        var after = BookingCursorMapper.map(BOOKING);
+        for (var state : BookingState.values()) {
+            repository.findAllByUserId(USER_ID_1, state, Utils.newPage(FROM, SIZE));
+            repository.findAllByItemUserId(USER_ID_1, state, Utils.newPage(FROM, SIZE));
+            repository.findAllByUserId(USER_ID_1, state, after, SIZE);
+            repository.findAllByItemUserId(USER_ID_1, state, after, SIZE);
+            repository.exportAllByUserId(USER_ID_1, state, it -> {
+            });
+            repository.exportAllByItemUserId(USER_ID_1, state, it -> {
+            });
+        }
+        repository.getItem(BOOKING_ID);
+        repository.findNearestApproved(List.of(ITEM_ID_1));
+        repository.findApprovedItemFor(ITEM_ID_1, USER_ID_1);
+
+        var queries = new ArrayList<>(CapturingStatementInspector.STATEMENTS);
+        assertFalse(queries.isEmpty());
+        for (var sql : queries) {
+            var plan = explain(sql);
+            assertFalse(plan.toUpperCase(Locale.ROOT).contains(FULL_SCAN), () -> "Full scan in plan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                var parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    var plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
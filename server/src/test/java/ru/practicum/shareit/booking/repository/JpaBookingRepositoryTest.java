@@ -9,18 +9,28 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.Utils;
 import ru.practicum.shareit.booking.db.BookingEntity;
+import ru.practicum.shareit.booking.mapper.BookingCursorMapper;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.db.ItemEntity;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.db.UserEntity;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ru.practicum.shareit.TestUtils.*;
 
 @DataJpaTest
@@ -69,6 +79,54 @@ class JpaBookingRepositoryTest {
         assertEquals(booking.getStatus(), update.getStatus());
     }
 
+    @Test
+    @DirtiesContext
+    void changeStatusForWaitingBookingShouldUpdateOnlyOnce() {
+        var approved = repository.changeStatus(BOOKING_ID, USER_ID_1, BookingStatus.APPROVED);
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+        assertEquals(BookingStatus.APPROVED.name(), getItems().get(0).getStatus());
+
+        assertThrows(BadRequestException.class, () -> repository.changeStatus(BOOKING_ID, USER_ID_1, BookingStatus.REJECTED));
+        assertEquals(BookingStatus.APPROVED, repository.getItem(BOOKING_ID).getStatus());
+    }
+
+    @Test
+    @DirtiesContext
+    void changeStatusByNotOwnerShouldThrowNotFoundException() {
+        assertThrows(NotFoundException.class, () -> repository.changeStatus(BOOKING_ID, USER_ID_2, BookingStatus.APPROVED));
+        assertThrows(NotFoundException.class, () -> repository.changeStatus(-1L, USER_ID_1, BookingStatus.APPROVED));
+        assertEquals(BookingStatus.WAITING, repository.getItem(BOOKING_ID).getStatus());
+    }
+
+    @Test
+    @DirtiesContext
+    void changeStatusOverlappingApprovedBookingShouldThrowConflictException() {
+        var userEntity = em.find(UserEntity.class, USER_ID_1);
+        var itemEntity = em.find(ItemEntity.class, ITEM_ID_1);
+        var overlapping = repository.save(BookingMapper.mapToEntity(BOOKING.toBuilder()
+                .id(null)
+                .start(BOOKING.getStart().plusHours(1))
+                .end(BOOKING.getEnd().plusHours(1))
+                .build(), userEntity, itemEntity));
+        repository.changeStatus(BOOKING_ID, USER_ID_1, BookingStatus.APPROVED);
+
+        assertThrows(ConflictException.class, () -> repository.changeStatus(overlapping.getId(), USER_ID_1, BookingStatus.APPROVED));
+        assertEquals(BookingStatus.REJECTED, repository.changeStatus(overlapping.getId(), USER_ID_1, BookingStatus.REJECTED).getStatus());
+    }
+
+    @Test
+    @DirtiesContext
+    void existsApprovedOverlapShouldIgnoreWaitingAndAdjacentBookings() {
+        assertFalse(repository.existsApprovedOverlap(ITEM_ID_1, BOOKING.getStart(), BOOKING.getEnd()));
+
+        repository.changeStatus(BOOKING_ID, USER_ID_1, BookingStatus.APPROVED);
+
+        assertTrue(repository.existsApprovedOverlap(ITEM_ID_1, BOOKING.getStart().minusHours(1), BOOKING.getStart().plusHours(1)));
+        assertFalse(repository.existsApprovedOverlap(ITEM_ID_1, BOOKING.getEnd(), BOOKING.getEnd().plusDays(1)));
+        assertFalse(repository.existsApprovedOverlap(ITEM_ID_2, BOOKING.getStart(), BOOKING.getEnd()));
+        assertEquals(ITEM_ID_1, repository.getItemId(BOOKING_ID));
+    }
+
     @Test
     @DirtiesContext
     void findAllByUserIdForWaitingStateShouldReturnList() {
@@ -153,6 +211,122 @@ class JpaBookingRepositoryTest {
         assertEquals(1, list.size());
     }
 
+    @Test
+    @DirtiesContext
+    void findNearestApprovedForItemIdsShouldReturnLastAndNextBookings() {
+        var userEntity = em.find(UserEntity.class, USER_ID_1);
+        var itemEntity = em.find(ItemEntity.class, ITEM_ID_1);
+        var approved = BOOKING.toBuilder().id(null).status(BookingStatus.APPROVED);
+        var past = repository.save(BookingMapper.mapToEntity(approved
+                .start(REQUEST_TIME.minusDays(3))
+                .end(REQUEST_TIME.minusDays(2))
+                .build(), userEntity, itemEntity));
+        repository.save(BookingMapper.mapToEntity(approved
+                .start(REQUEST_TIME.minusDays(5))
+                .end(REQUEST_TIME.minusDays(4))
+                .build(), userEntity, itemEntity));
+        var future = repository.save(BookingMapper.mapToEntity(approved
+                .start(REQUEST_TIME.plusDays(3))
+                .end(REQUEST_TIME.plusDays(4))
+                .build(), userEntity, itemEntity));
+        repository.save(BookingMapper.mapToEntity(approved
+                .start(REQUEST_TIME.plusDays(5))
+                .end(REQUEST_TIME.plusDays(6))
+                .build(), userEntity, itemEntity));
+
+        var nearest = repository.findNearestApproved(List.of(ITEM_ID_1, ITEM_ID_2));
+
+        assertEquals(1, nearest.size());
+        assertEquals(past.getId(), nearest.get(ITEM_ID_1).getLast().getId());
+        assertEquals(USER_ID_1, nearest.get(ITEM_ID_1).getLast().getBooker().getId());
+        assertEquals(future.getId(), nearest.get(ITEM_ID_1).getNext().getId());
+        assertEquals(USER_ID_1, nearest.get(ITEM_ID_1).getNext().getBooker().getId());
+    }
+
+    @Test
+    @DirtiesContext
+    void findNearestApprovedForEmptyItemIdsShouldReturnEmptyMap() {
+        assertTrue(repository.findNearestApproved(List.of()).isEmpty());
+    }
+
+    @Test
+    @DirtiesContext
+    void findAllByUserIdAfterCursorShouldWalkAllPages() {
+        var userEntity = em.find(UserEntity.class, USER_ID_1);
+        var itemEntity = em.find(ItemEntity.class, ITEM_ID_1);
+        var sameStart = BOOKING.toBuilder().id(null).build();
+        var second = repository.save(BookingMapper.mapToEntity(sameStart, userEntity, itemEntity));
+        var third = repository.save(BookingMapper.mapToEntity(sameStart.toBuilder()
+                .start(BOOKING.getStart().minusDays(1))
+                .build(), userEntity, itemEntity));
+        em.flush();
+        em.clear();
+
+        var firstPage = repository.findAllByUserId(USER_ID_1, BookingState.ALL, null, 2);
+        assertEquals(List.of(second.getId(), BOOKING_ID), ids(firstPage));
+
+        var after = BookingCursorMapper.map(firstPage.get(1));
+        var secondPage = repository.findAllByUserId(USER_ID_1, BookingState.ALL, after, 2);
+        assertEquals(List.of(third.getId()), ids(secondPage));
+    }
+
+    @Test
+    @DirtiesContext
+    void findAllByItemUserIdAfterCursorForWaitingStateShouldReturnList() {
+        em.flush();
+        em.clear();
+        var list = repository.findAllByItemUserId(USER_ID_1, BookingState.WAITING, null, SIZE);
+        assertEquals(1, list.size());
+
+        var after = BookingCursorMapper.map(list.get(0));
+        assertTrue(repository.findAllByItemUserId(USER_ID_1, BookingState.WAITING, after, SIZE).isEmpty());
+    }
+
+    @Test
+    @DirtiesContext
+    void findAllByItemUserIdAfterCursorForPastStateShouldReturnEmptyList() {
+        var list = repository.findAllByItemUserId(USER_ID_1, BookingState.PAST, null, SIZE);
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    @DirtiesContext
+    void findByIdShouldFetchBookerItemAndOwnerInOneQuery() {
+        em.flush();
+        em.clear();
+
+        var entity = repository.findById(BOOKING_ID).orElseThrow();
+        var util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+        assertTrue(util.isLoaded(entity, "user"));
+        assertTrue(util.isLoaded(entity, "item"));
+        assertTrue(util.isLoaded(entity.getItem(), "user"));
+    }
+
+    @Test
+    @DirtiesContext
+    void exportAllByItemUserIdShouldStreamWholeHistoryInPageOrder() {
+        var userEntity = em.find(UserEntity.class, USER_ID_1);
+        var itemEntity = em.find(ItemEntity.class, ITEM_ID_1);
+        var earlier = repository.save(BookingMapper.mapToEntity(BOOKING.toBuilder()
+                .id(null)
+                .start(BOOKING.getStart().minusDays(1))
+                .build(), userEntity, itemEntity));
+        em.flush();
+        em.clear();
+
+        var exported = new ArrayList<Booking>();
+        repository.exportAllByItemUserId(USER_ID_1, BookingState.ALL, exported::add);
+
+        assertEquals(List.of(BOOKING_ID, earlier.getId()), ids(exported));
+        assertEquals(ITEM_ID_1, exported.get(0).getItem().getId());
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
 
     private List<BookingEntity> getItems() {
         return em.createQuery("SELECT b FROM BookingEntity b", BookingEntity.class)
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestUtils.*;
+
+@Slf4j
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingOverlapConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int BOOKINGS = 200;
+    private static final int DAYS = 20;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    @Test
+    @DirtiesContext
+    void concurrentApprovalsOfOneItemShouldNeverOverlap() throws Exception {
+        var owner = userService.addUser(USER_1);
+        var booker = userService.addUser(USER_2);
+        var item = itemService.addNewItem(owner.getId(), ITEM_1);
+        var start = REQUEST_TIME.plusDays(1);
+
+        var waiting = new ArrayList<Booking>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            var from = start.plusHours(i * DAYS * 24L / BOOKINGS);
+            waiting.add(bookingService.newRequest(booker.getId(), item.getId(), Booking.builder()
+                    .start(from)
+                    .end(from.plusDays(1 + i % 3))
+                    .build()));
+        }
+
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var tasks = new ArrayList<Callable<Booking>>();
+        for (var booking : waiting) {
+            tasks.add(() -> approve(owner, booking));
+        }
+        List<Future<Booking>> results;
+        var started = System.nanoTime();
+        try {
+            results = executor.invokeAll(tasks);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+        var elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        var approved = new ArrayList<Booking>();
+        for (var result : results) {
+            var booking = result.get();
+            if (booking != null) {
+                assertEquals(BookingStatus.APPROVED, booking.getStatus());
+                approved.add(booking);
+            }
+        }
+        assertFalse(approved.isEmpty());
+        log.info("{} approval attempts on {} threads took {} ms ({} attempts/s), {} approved",
+                BOOKINGS, THREADS, elapsedMillis, BOOKINGS * 1000L / elapsedMillis, approved.size());
+        for (int i = 0; i < approved.size(); i++) {
+            for (int j = i + 1; j < approved.size(); j++) {
+                var a = approved.get(i);
+                var b = approved.get(j);
+                assertFalse(a.getStart().isBefore(b.getEnd()) && b.getStart().isBefore(a.getEnd()),
+                        () -> "Overlapping approved bookings " + a.getId() + " and " + b.getId());
+            }
+        }
+    }
+
+    private Booking approve(User owner, Booking booking) {
+        try {
+            return bookingService.changeRequestStatus(owner.getId(), booking.getId(), BookingStatus.APPROVED);
+        } catch (ConflictException e) {
+            return null;
+        }
+    }
+}
@@ -4,19 +4,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.Utils;
+import ru.practicum.shareit.booking.availability.AvailabilityIndexUpdater;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.overlap.BookingOverlapGuard;
+import ru.practicum.shareit.booking.overlap.StripedLockBookingOverlapGuard;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +48,12 @@ class BookingServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private AvailabilityIndexUpdater availabilityIndexUpdater;
+
+    @Spy
+    private BookingOverlapGuard overlapGuard = new StripedLockBookingOverlapGuard(1);
+
     @InjectMocks
     private BookingServiceImpl service;
 
@@ -63,6 +78,20 @@ class BookingServiceImplTest {
         verify(bookingRepository, times(1)).create(booking, USER_1, ITEM_2, ITEM_REQUEST);
     }
 
+    @Test
+    void newRequestOverlappingApprovedBookingThenThrowConflictException() {
+        var booking = Booking.builder()
+                .start(REQUEST_TIME.plusDays(1))
+                .end(REQUEST_TIME.plusDays(2))
+                .build();
+        when(itemRepository.getItem(anyLong())).thenReturn(ITEM_2);
+        when(bookingRepository.existsApprovedOverlap(anyLong(), any(), any())).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> service.newRequest(USER_ID_1, ITEM_ID_1, booking));
+        verify(bookingRepository, times(1)).existsApprovedOverlap(ITEM_ID_1, booking.getStart(), booking.getEnd());
+        verify(bookingRepository, never()).create(any(), any(), any(), any());
+    }
+
     @Test
     void newRequestWithWrongItemIdShouldThrowNotFoundException() {
         var booking = Booking.builder()
@@ -183,79 +212,48 @@ class BookingServiceImplTest {
                 .status(BookingStatus.APPROVED)
                 .build();
 
-        when(userRepository.getById(anyLong())).thenReturn(USER_1);
-        when(bookingRepository.getItem(anyLong())).thenReturn(BOOKING);
-        when(itemRepository.getItem(anyLong())).thenReturn(ITEM_1);
-        when(bookingRepository.update(any())).thenReturn(approvedBooking);
+        when(bookingRepository.changeStatus(anyLong(), anyLong(), any())).thenReturn(approvedBooking);
 
         var result = service.changeRequestStatus(USER_ID_1, BOOKING_ID, BookingStatus.APPROVED);
 
         assertNotNull(result);
         assertEquals(BookingStatus.APPROVED, result.getStatus());
-        verify(userRepository, times(1)).getById(USER_ID_1);
-        verify(bookingRepository, times(1)).getItem(BOOKING_ID);
-        verify(itemRepository, times(1)).getItem(ITEM_ID_1);
-        verify(bookingRepository, times(1)).update(approvedBooking);
-    }
-
-    @Test
-    void changeRequestStatusWithWrongUserIdShouldThrowNotFoundException() {
-        when(userRepository.getById(anyLong())).thenThrow(NotFoundException.class);
-
-        assertThrows(NotFoundException.class, () -> service.changeRequestStatus(USER_ID_1, BOOKING_ID, BookingStatus.APPROVED));
-        verify(userRepository, times(1)).getById(USER_ID_1);
+        verify(bookingRepository, times(1)).changeStatus(BOOKING_ID, USER_ID_1, BookingStatus.APPROVED);
+        verify(bookingRepository, times(1)).getItemId(BOOKING_ID);
         verify(bookingRepository, never()).getItem(anyLong());
+        verify(availabilityIndexUpdater, times(1)).onStatusChanged(approvedBooking);
         verify(itemRepository, never()).getItem(anyLong());
-        verify(bookingRepository, never()).update(any());
     }
 
     @Test
-    void changeRequestStatusWithWrongBookingIdShouldThrowNotFoundException() {
-        when(userRepository.getById(anyLong())).thenReturn(USER_1);
-        when(bookingRepository.getItem(anyLong())).thenThrow(NotFoundException.class);
+    void changeRequestStatusWhenUserIsNotOwnerThenThrowNotFoundException() {
+        when(bookingRepository.changeStatus(anyLong(), anyLong(), any())).thenThrow(NotFoundException.class);
 
-        assertThrows(NotFoundException.class, () -> service.changeRequestStatus(USER_ID_1, BOOKING_ID, BookingStatus.APPROVED));
-        verify(userRepository, times(1)).getById(USER_ID_1);
-        verify(bookingRepository, times(1)).getItem(BOOKING_ID);
-        verify(itemRepository, never()).getItem(anyLong());
-        verify(bookingRepository, never()).update(any());
+        assertThrows(NotFoundException.class, () -> service.changeRequestStatus(USER_ID_2, BOOKING_ID, BookingStatus.APPROVED));
+        verify(bookingRepository, times(1)).changeStatus(BOOKING_ID, USER_ID_2, BookingStatus.APPROVED);
     }
 
     @Test
-    void changeRequestStatusWhenOwnerIdEqualsUserIdThenThrowNotFoundException() {
-        var item = ITEM_1.toBuilder()
-                .owner(USER_2)
-                .build();
-        var booking = BOOKING.toBuilder()
-                .item(item)
-                .build();
-
-        when(itemRepository.getItem(anyLong())).thenReturn(item);
-        when(userRepository.getById(anyLong())).thenReturn(USER_2);
-        when(bookingRepository.getItem(anyLong())).thenReturn(booking);
+    void changeRequestStatusWhenCurrentStatusIsNotWaitingThenThrowBadRequestException() {
+        when(bookingRepository.changeStatus(anyLong(), anyLong(), any())).thenThrow(BadRequestException.class);
 
-        assertThrows(NotFoundException.class, () -> service.changeRequestStatus(USER_ID_1, BOOKING_ID, BookingStatus.APPROVED));
-        verify(userRepository, times(1)).getById(USER_ID_1);
-        verify(bookingRepository, times(1)).getItem(BOOKING_ID);
-        verify(itemRepository, times(1)).getItem(ITEM_ID_1);
-        verify(bookingRepository, never()).update(any());
+        assertThrows(BadRequestException.class, () -> service.changeRequestStatus(USER_ID_1, BOOKING_ID, BookingStatus.APPROVED));
+        verify(bookingRepository, times(1)).changeStatus(BOOKING_ID, USER_ID_1, BookingStatus.APPROVED);
     }
 
     @Test
-    void changeRequestStatusWhenCurrentStatusIsNotWaitingThenThrowBadRequestException() {
-        var approvedBooking = BOOKING.toBuilder()
-                .status(BookingStatus.APPROVED)
+    void changeRequestStatusToRejectedShouldNotTakeOverlapGuard() {
+        var rejectedBooking = BOOKING.toBuilder()
+                .status(BookingStatus.REJECTED)
                 .build();
+        when(bookingRepository.changeStatus(anyLong(), anyLong(), any())).thenReturn(rejectedBooking);
 
-        when(itemRepository.getItem(anyLong())).thenReturn(ITEM_1);
-        when(userRepository.getById(anyLong())).thenReturn(USER_1);
-        when(bookingRepository.getItem(anyLong())).thenReturn(approvedBooking);
+        var result = service.changeRequestStatus(USER_ID_1, BOOKING_ID, BookingStatus.REJECTED);
 
-        assertThrows(BadRequestException.class, () -> service.changeRequestStatus(USER_ID_1, BOOKING_ID, BookingStatus.APPROVED));
-        verify(userRepository, times(1)).getById(USER_ID_1);
-        verify(bookingRepository, times(1)).getItem(BOOKING_ID);
-        verify(itemRepository, times(1)).getItem(ITEM_ID_1);
-        verify(bookingRepository, never()).update(any());
+        assertEquals(BookingStatus.REJECTED, result.getStatus());
+        verify(overlapGuard, never()).guard(any(), any());
+        verify(availabilityIndexUpdater, times(1)).onStatusChanged(rejectedBooking);
+        verify(bookingRepository, never()).getItemId(anyLong());
     }
 
     @Test
@@ -351,4 +349,48 @@ class BookingServiceImplTest {
         verify(userRepository, times(1)).getById(USER_ID_2);
         verify(bookingRepository, never()).findAllByItemUserId(anyLong(), any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllRequestsAfterCursorShouldReturnItems() {
+        var after = BookingCursor.builder().start(REQUEST_TIME).id(BOOKING_ID).build();
+        when(userRepository.getById(anyLong())).thenReturn(USER_1);
+        when(bookingRepository.findAllByUserId(anyLong(), any(), any(), anyInt())).thenReturn(List.of(BOOKING));
+
+        var list = service.getAllRequests(USER_ID_1, BookingState.ALL, after, SIZE);
+        assertEquals(List.of(BOOKING), list);
+        verify(bookingRepository, times(1)).findAllByUserId(USER_ID_1, BookingState.ALL, after, SIZE);
+    }
+
+    @Test
+    void getAllRequestsForOwnerAfterCursorWithWrongUserIdShouldThrowNotFoundException() {
+        when(userRepository.getById(anyLong())).thenThrow(NotFoundException.class);
+
+        assertThrows(NotFoundException.class, () -> service.getAllRequestsForOwner(USER_ID_2, BookingState.ALL, null, SIZE));
+        verify(bookingRepository, never()).findAllByItemUserId(anyLong(), any(), any(), anyInt());
+    }
+
+    @Test
+    void exportAllRequestsForOwnerShouldPassBookingsToAction() {
+        when(userRepository.getById(anyLong())).thenReturn(USER_1);
+        doAnswer(it -> {
+            Consumer<Booking> action = it.getArgument(2);
+            action.accept(BOOKING);
+            return null;
+        }).when(bookingRepository).exportAllByItemUserId(anyLong(), any(), any());
+
+        var exported = new ArrayList<Booking>();
+        service.exportAllRequestsForOwner(USER_ID_1, BookingState.ALL, exported::add);
+
+        assertEquals(List.of(BOOKING), exported);
+        verify(bookingRepository, times(1)).exportAllByItemUserId(eq(USER_ID_1), eq(BookingState.ALL), any());
+    }
+
+    @Test
+    void exportAllRequestsWithWrongUserIdShouldThrowNotFoundException() {
+        when(userRepository.getById(anyLong())).thenThrow(NotFoundException.class);
+
+        assertThrows(NotFoundException.class, () -> service.exportAllRequests(USER_ID_2, BookingState.ALL, it -> {
+        }));
+        verify(bookingRepository, never()).exportAllByUserId(anyLong(), any(), any());
+    }
+}
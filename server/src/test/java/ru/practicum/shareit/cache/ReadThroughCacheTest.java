@@ -0,0 +1,79 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadThroughCacheTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void getShouldLoadOnceAndCountHits() {
+        var cache = new ReadThroughCache<Long, String>("test", 10, Duration.ofMinutes(1), registry);
+
+        assertEquals("1", cache.get(1L, this::load));
+        assertEquals("1", cache.get(1L, this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, count("hit"));
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void getAfterEvictOrExpiryShouldReload() {
+        var cache = new ReadThroughCache<Long, String>("test", 10, Duration.ofMinutes(1), registry);
+        cache.get(1L, this::load);
+        cache.evict(1L);
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+
+        var expired = new ReadThroughCache<Long, String>("expired", 10, Duration.ZERO, registry);
+        expired.get(1L, this::load);
+        expired.get(1L, this::load);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void getShouldKeepOnlyRecentlyUsedEntries() {
+        var cache = new ReadThroughCache<Long, String>("test", 2, Duration.ofMinutes(1), registry);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+
+        assertEquals(2, cache.size());
+        cache.get(1L, this::load);
+        assertEquals(3, loads.get());
+        cache.get(2L, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void valueLoadedDuringEvictShouldNotBeStored() {
+        var cache = new ReadThroughCache<Long, String>("test", 10, Duration.ofMinutes(1), registry);
+
+        cache.get(1L, key -> {
+            cache.evict(key);
+            return load(key);
+        });
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private String load(Long key) {
+        loads.incrementAndGet();
+        return String.valueOf(key);
+    }
+
+    private double count(String result) {
+        return registry.get("shareit.repository.cache.requests").tag("cache", "test").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.practicum.shareit.RequestDeadline;
+
+import java.sql.SQLTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeadlineDataSourceTest {
+    private final DeadlineDataSource dataSource = new DeadlineDataSource(new DriverManagerDataSource("jdbc:h2:mem:deadline"));
+
+    @AfterEach
+    void clear() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void statementWithoutDeadlineShouldHaveNoTimeout() throws Exception {
+        try (var connection = dataSource.getConnection(); var statement = connection.prepareStatement("SELECT 1")) {
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void statementUnderDeadlineShouldTimeOutWithRemainingBudget() throws Exception {
+        RequestDeadline.start(2500);
+        try (var connection = dataSource.getConnection(); var statement = connection.prepareStatement("SELECT 1")) {
+            assertEquals(3, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void statementAfterDeadlineShouldBeRefused() throws Exception {
+        RequestDeadline.start(0);
+        try (var connection = dataSource.getConnection()) {
+            assertThrows(SQLTimeoutException.class, () -> connection.prepareStatement("SELECT 1"));
+        }
+    }
+}
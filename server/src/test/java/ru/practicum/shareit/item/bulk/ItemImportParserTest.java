@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import javax.validation.Validation;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.Const.TEXT_CSV_VALUE;
+
+class ItemImportParserTest {
+    private final ItemImportParser parser = new ItemImportParser(
+            new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator()
+    );
+
+    @Test
+    void parseNdjsonShouldReturnItemsAndErrorsWithLineNumbers() {
+        var lines = parse(MediaType.APPLICATION_NDJSON,
+                "{\"name\":\"drill\",\"description\":\"desc\",\"available\":true,\"requestId\":7}\n" +
+                        "\n" +
+                        "{\"name\":\"\",\"description\":\"desc\",\"available\":true}\n" +
+                        "{broken\n");
+
+        assertEquals(3, lines.size());
+        assertEquals(1, lines.get(0).getLine());
+        assertEquals("drill", lines.get(0).getItem().getName());
+        assertEquals(7L, lines.get(0).getItem().getRequestId());
+        assertNull(lines.get(0).getError());
+        assertEquals(3, lines.get(1).getLine());
+        assertNull(lines.get(1).getItem());
+        assertTrue(lines.get(1).getError().startsWith("name"));
+        assertEquals(4, lines.get(2).getLine());
+        assertNotNull(lines.get(2).getError());
+    }
+
+    @Test
+    void parseCsvShouldSupportQuotedValuesAndOptionalRequestId() {
+        var lines = parse(MediaType.parseMediaType(TEXT_CSV_VALUE),
+                "name,description,available\n" +
+                        "drill,\"big, \"\"red\"\" drill\",true\n" +
+                        "saw,desc,maybe\n" +
+                        "saw,desc\n");
+
+        assertEquals(3, lines.size());
+        assertEquals(2, lines.get(0).getLine());
+        assertEquals("big, \"red\" drill", lines.get(0).getItem().getDescription());
+        assertTrue(lines.get(0).getItem().getAvailable());
+        assertNull(lines.get(0).getItem().getRequestId());
+        assertNotNull(lines.get(1).getError());
+        assertNotNull(lines.get(2).getError());
+    }
+
+    @Test
+    void parseCsvWithLineBreakInQuotedValueShouldReportError() {
+        var lines = parse(MediaType.parseMediaType(TEXT_CSV_VALUE),
+                "name,description,available\n" +
+                        "drill,\"big\n" +
+                        "drill\",true\n" +
+                        "saw,desc,true\n");
+
+        assertEquals(3, lines.size());
+        assertNotNull(lines.get(0).getError());
+        assertNotNull(lines.get(1).getError());
+        assertEquals("saw", lines.get(2).getItem().getName());
+    }
+
+    @Test
+    void parseCsvWithoutRequiredColumnShouldThrowBadRequestException() {
+        assertThrows(BadRequestException.class,
+                () -> parse(MediaType.parseMediaType(TEXT_CSV_VALUE), "name,description\ndrill,desc\n"));
+    }
+
+    @Test
+    void parseUnsupportedTypeShouldThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> parse(MediaType.APPLICATION_XML, "<item/>"));
+    }
+
+    private List<ItemImportLine> parse(MediaType type, String body) {
+        var result = new ArrayList<ItemImportLine>();
+        parser.parse(type, new BufferedReader(new StringReader(body)))
+                .forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.bulk;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.TestUtils.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImportServiceImplTest {
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    private ItemImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ItemImportServiceImpl(itemRepository, userRepository, itemRequestRepository, BATCH_SIZE);
+    }
+
+    @Test
+    void importItemsShouldSaveValidLinesInBatchesAndReportUnknownRequests() {
+        when(userRepository.getById(anyLong())).thenReturn(USER_1);
+        when(itemRequestRepository.findExistingIds(Set.of(ITEM_REQUEST_ID, 99L))).thenReturn(Set.of(ITEM_REQUEST_ID));
+        when(itemRepository.addNewItems(eq(USER_1), anyList())).thenAnswer(it -> {
+            List<Item> items = it.getArgument(1);
+            return items.stream()
+                    .map(item -> item.toBuilder().id((long) item.getName().length()).build())
+                    .collect(Collectors.toList());
+        });
+        var lines = List.of(
+                line(1, ITEM_1.toBuilder().id(null).requestId(ITEM_REQUEST_ID).build()),
+                line(2, ITEM_1.toBuilder().id(null).requestId(99L).build()),
+                ItemImportLine.builder().line(3).error("error").build()
+        );
+        var chunks = new ArrayList<List<ItemImportLine>>();
+
+        service.importItems(USER_ID_1, lines.iterator(), chunks::add);
+
+        assertEquals(2, chunks.size());
+        assertEquals(4L, chunks.get(0).get(0).getItem().getId());
+        assertNull(chunks.get(0).get(1).getItem());
+        assertNotNull(chunks.get(0).get(1).getError());
+        assertEquals("error", chunks.get(1).get(0).getError());
+        verify(itemRepository, times(1)).addNewItems(eq(USER_1), anyList());
+        verify(itemRequestRepository, times(1)).findExistingIds(anySet());
+    }
+
+    @Test
+    void importItemsWithUnknownUserShouldThrowNotFoundException() {
+        when(userRepository.getById(anyLong())).thenThrow(NotFoundException.class);
+
+        assertThrows(NotFoundException.class,
+                () -> service.importItems(USER_ID_1, List.<ItemImportLine>of().iterator(), it -> {
+                }));
+        verifyNoInteractions(itemRepository);
+    }
+
+    private static ItemImportLine line(long line, Item item) {
+        return ItemImportLine.builder()
+                .line(line)
+                .item(item)
+                .build();
+    }
+}
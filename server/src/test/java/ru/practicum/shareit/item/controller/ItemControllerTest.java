@@ -7,26 +7,38 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.Utils;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.bulk.ItemImportLine;
+import ru.practicum.shareit.item.bulk.ItemImportParser;
+import ru.practicum.shareit.item.bulk.ItemImportService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.Const.*;
 import static ru.practicum.shareit.TestUtils.*;
 import static ru.practicum.shareit.item.mapper.CommentMapper.map;
 import static ru.practicum.shareit.item.mapper.ItemMapper.map;
+import static ru.practicum.shareit.item.mapper.ItemMapper.mapToDto;
 
 @WebMvcTest(ItemController.class)
+@Import(ItemImportParser.class)
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
 class ItemControllerTest {
     private static final String SEARCH_QUERY = "soap";
@@ -36,9 +48,12 @@ class ItemControllerTest {
     private static final boolean ITEM_AVAILABLE = true;
     private static final Long COMMENT_ID = 1L;
     private static final String COMMENT_TEXT = "comment";
+    private static final String ITEM_TAG = "i1-0";
 
     @MockBean
     private ItemService service;
+    @MockBean
+    private ItemImportService importService;
     private final ObjectMapper objectMapper;
     private final MockMvc mockMvc;
 
@@ -142,6 +157,22 @@ class ItemControllerTest {
                 .getItem(USER_ID_1, ITEM_ID_1);
     }
 
+    @Test
+    @SneakyThrows
+    void getItemWithMatchingETagShouldReturnNotModified() {
+        when(service.getItemTag(anyLong(), anyLong()))
+                .thenReturn(ITEM_TAG);
+
+        mockMvc.perform(get("/items/{itemId}", ITEM_ID_1)
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + ITEM_TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + ITEM_TAG + "\""));
+
+        verify(service, never())
+                .getItem(anyLong(), anyLong());
+    }
+
     @Test
     @SneakyThrows
     void getItemWithWrongItemIdShouldReturnNotFound() {
@@ -202,6 +233,38 @@ class ItemControllerTest {
                 .searchBy(SEARCH_QUERY, Utils.newPage(FROM, SIZE));
     }
 
+    @Test
+    @SneakyThrows
+    void getAvailableItemsWithCorrectRequestShouldReturnIsOkWithResponse() {
+        var start = REQUEST_TIME.plusDays(1);
+        var end = REQUEST_TIME.plusDays(2);
+        when(service.getAvailable(any(), any(), any(), any()))
+                .thenReturn(List.of(ITEM_1));
+
+        mockMvc.perform(get("/items/available")
+                        .param(START_REQUEST_PARAM, start.toString())
+                        .param(END_REQUEST_PARAM, end.toString())
+                        .param(SEARCH_REQUEST_PARAM, SEARCH_QUERY)
+                        .param(FROM_REQUEST_PARAM, Integer.toString(FROM))
+                        .param(SIZE_REQUEST_PARAM, Integer.toString(SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(mapToDto(ITEM_1)))));
+
+        verify(service, times(1))
+                .getAvailable(SEARCH_QUERY, start, end, Utils.newPage(FROM, SIZE));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAvailableItemsWithoutEndShouldReturnBadRequest() {
+        mockMvc.perform(get("/items/available")
+                        .param(START_REQUEST_PARAM, REQUEST_TIME.toString()))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).getAvailable(any(), any(), any(), any());
+    }
+
     @Test
     @SneakyThrows
     void searchItemsWithEmptyQueryShouldReturnIsOkWithEmptyBody() {
@@ -549,4 +612,30 @@ class ItemControllerTest {
         verify(service, never())
                 .createComment(anyLong(), anyLong(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void importItemsShouldStreamResultPerLine() {
+        doAnswer(it -> {
+            Iterator<ItemImportLine> lines = it.getArgument(1);
+            Consumer<List<ItemImportLine>> results = it.getArgument(2);
+            var first = lines.next();
+            var second = lines.next();
+            results.accept(List.of(
+                    first.toBuilder().item(first.getItem().toBuilder().id(ITEM_ID_1).build()).build(),
+                    second
+            ));
+            return null;
+        }).when(importService).importItems(anyLong(), any(), any());
+
+        mockMvc.perform(post("/items/bulk")
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .contentType(TEXT_CSV_VALUE)
+                        .content("name,description,available\n" + ITEM_NAME + "," + ITEM_DESC + "," + ITEM_AVAILABLE + "\n,,\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(startsWith("{\"line\":2,\"id\":" + ITEM_ID_1 + "}\n{\"line\":3,\"error\":")));
+
+        verify(importService, times(1)).importItems(eq(USER_ID_1), any(), any());
+    }
+}
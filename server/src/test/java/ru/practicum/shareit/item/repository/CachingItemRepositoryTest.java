@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.cache.ReadThroughCache;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.TestUtils.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingItemRepositoryTest {
+    private final ReadThroughCache<Long, Item> cache = new ReadThroughCache<>("items", 10, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Mock
+    private JpaItemRepository delegate;
+
+    private CachingItemRepository repository;
+
+    @BeforeEach
+    void init() {
+        repository = new CachingItemRepository(delegate, cache);
+        when(delegate.getItem(ITEM_ID_1)).thenReturn(ITEM_1);
+    }
+
+    @Test
+    void getItemShouldReadDatabaseOnce() {
+        assertEquals(ITEM_1, repository.getItem(ITEM_ID_1));
+        assertEquals(ITEM_1, repository.getItem(ITEM_ID_1));
+
+        verify(delegate, times(1)).getItem(ITEM_ID_1);
+    }
+
+    @Test
+    void updateShouldEvictItem() {
+        repository.getItem(ITEM_ID_1);
+        repository.update(USER_ID_1, ITEM_1);
+        repository.getItem(ITEM_ID_1);
+
+        verify(delegate, times(2)).getItem(ITEM_ID_1);
+    }
+
+    @Test
+    void deleteItemShouldEvictItem() {
+        repository.getItem(ITEM_ID_1);
+        repository.deleteItem(USER_ID_1, ITEM_ID_1);
+        repository.getItem(ITEM_ID_1);
+
+        verify(delegate, times(2)).getItem(ITEM_ID_1);
+    }
+}
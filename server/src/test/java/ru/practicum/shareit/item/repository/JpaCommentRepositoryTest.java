@@ -12,9 +12,9 @@ import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 import javax.persistence.EntityManager;
+import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 import static ru.practicum.shareit.TestUtils.*;
 
 @DataJpaTest
@@ -62,6 +62,23 @@ class JpaCommentRepositoryTest {
         assertEquals(1, list.size());
     }
 
+    @Test
+    @DirtiesContext
+    void findByItemIdsShouldGroupCommentsByItem() {
+        var comments = repository.find(List.of(ITEM_ID_1, ITEM_ID_2));
+        assertNotNull(comments);
+        assertEquals(1, comments.size());
+        assertEquals(1, comments.get(ITEM_ID_1).size());
+    }
+
+    @Test
+    @DirtiesContext
+    void findByEmptyItemIdsShouldReturnEmptyMap() {
+        var comments = repository.find(List.of());
+        assertNotNull(comments);
+        assertTrue(comments.isEmpty());
+    }
+
     @Test
     @DirtiesContext
     void findAllByItemIdWhenNotFoundReturnEmptyList() {
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,11 +12,15 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.db.ItemEntity;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.user.db.UserEntity;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static ru.practicum.shareit.TestUtils.*;
@@ -44,6 +49,26 @@ class JpaItemRepositoryTest {
         assertEquals(3, list.size());
     }
 
+    @Test
+    @DirtiesContext
+    void findAvailableShouldWalkAvailableItemsInIdOrder() {
+        var item = repository.findById(2L).orElseThrow();
+        repository.save(ItemMapper.mapToEntity(ItemMapper.map(item).toBuilder().available(false).build(), 2L, item.getUser(), null));
+
+        assertEquals(List.of(1L, 3L), ids(repository.findAvailable(null, SIZE)));
+        assertEquals(List.of(3L), ids(repository.findAvailable(1L, SIZE)));
+        assertEquals(List.of(1L), ids(repository.findAvailable(null, 1)));
+    }
+
+    @Test
+    @DirtiesContext
+    void searchByShouldSkipUnavailableItemsMatchingByName() {
+        var item = repository.findById(2L).orElseThrow();
+        repository.save(ItemMapper.mapToEntity(ItemMapper.map(item).toBuilder().available(false).build(), 2L, item.getUser(), null));
+
+        assertEquals(List.of(1L, 3L), ids(repository.searchBy("name", Utils.newPage(FROM, SIZE))));
+    }
+
     @Test
     @DirtiesContext
     void findAllByUserIdWithNonExistIdShouldReturnEmptyList() {
@@ -64,6 +89,24 @@ class JpaItemRepositoryTest {
         assertEquals(itemEntity.getUser().getId(), USER_ID_1);
     }
 
+    @Test
+    @DirtiesContext
+    void updateShouldIncrementVersion() {
+        assertEquals(0, repository.getVersion(ITEM_ID_1).getVersion());
+
+        repository.update(USER_ID_1, Item.builder().id(ITEM_ID_1).name("new name").build());
+
+        var version = repository.getVersion(ITEM_ID_1);
+        assertEquals(1, version.getVersion());
+        assertEquals(USER_ID_1, version.getOwnerId());
+    }
+
+    @Test
+    @DirtiesContext
+    void getVersionWithWrongItemIdShouldThrowNotFoundException() {
+        assertThrows(NotFoundException.class, () -> repository.getVersion(999L));
+    }
+
     @Test
     @DirtiesContext
     void findByIdAndUserIdWithWrongItemIdShouldReturnEmptyOptional() {
@@ -154,8 +197,65 @@ class JpaItemRepositoryTest {
         assertThrows(NotFoundException.class, () -> repository.deleteItem(USER_ID_2, items.get(0).getId()));
     }
 
+    @Test
+    @DirtiesContext
+    void getItemsShouldReturnOwnerAndRequestWithoutManagedEntities() {
+        var userEntity = em.find(UserEntity.class, USER_ID_1);
+        var requestEntity = ItemRequestMapper.mapToEntity(ITEM_REQUEST.toBuilder().id(null).build());
+        em.persist(requestEntity);
+        var withRequest = repository.save(ItemMapper.mapToEntity(ITEM_1, null, userEntity, requestEntity));
+        em.flush();
+        em.clear();
+
+        var items = repository.getItems(USER_ID_1, Utils.newPage(FROM, SIZE));
+
+        assertEquals(4, items.size());
+        assertEquals(withRequest.getId(), items.get(3).getId());
+        assertEquals(requestEntity.getId(), items.get(3).getRequestId());
+        assertNull(items.get(0).getRequestId());
+        assertEquals(USER_1.getEmail(), items.get(0).getOwner().getEmail());
+        assertEquals(0, em.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DirtiesContext
+    void savedItemsShouldShareOnePooledIdBlock() {
+        var ids = StreamSupport.stream(repository.findAll().spliterator(), false)
+                .map(ItemEntity::getId)
+                .sorted()
+                .collect(Collectors.toList());
+        var nextBlock = ((Number) em.createNativeQuery("SELECT NEXT VALUE FOR item_seq").getSingleResult()).longValue();
+
+        assertEquals(List.of(1L, 2L, 3L), ids);
+        assertEquals(51L, nextBlock);
+    }
+
+    @Test
+    @DirtiesContext
+    void addNewItemsShouldSaveItemsWithRequestReference() {
+        var requestEntity = ItemRequestMapper.mapToEntity(ITEM_REQUEST.toBuilder().id(null).build());
+        em.persist(requestEntity);
+        em.flush();
+        em.clear();
+
+        var saved = repository.addNewItems(USER_1, List.of(ITEM_1, ITEM_2.toBuilder().requestId(requestEntity.getId()).build()));
+        em.flush();
+        em.clear();
+
+        assertEquals(2, saved.size());
+        assertNull(saved.get(0).getRequestId());
+        assertEquals(requestEntity.getId(), repository.getItem(saved.get(1).getId()).getRequestId());
+        assertEquals(5, getAll().size());
+    }
+
     private List<ItemEntity> getAll() {
         return em.createQuery("SELECT i FROM ItemEntity i", ItemEntity.class)
                 .getResultList();
     }
-}
\ No newline at end of file
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import ru.practicum.shareit.Utils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestUtils.FROM;
+import static ru.practicum.shareit.TestUtils.SIZE;
+
+class InvertedIndexItemSearchEngineTest {
+    private InvertedIndexItemSearchEngine engine;
+
+    @BeforeEach
+    void fill() {
+        engine = new InvertedIndexItemSearchEngine(mock(JdbcTemplate.class));
+        engine.index(1L, "Дрель", "Простая дрель", true);
+        engine.index(2L, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", true);
+        engine.index(3L, "Отвертка", "Аккумуляторная отвертка", true);
+        engine.index(4L, "Клей Момент", "Тюбик суперклея", false);
+    }
+
+    @Test
+    void searchBySubstringIgnoringCaseShouldReturnMatchingItemsInIdOrder() {
+        assertEquals(List.of(1L, 2L), engine.search("дРелЬ", Utils.newPage(FROM, SIZE)));
+        assertEquals(List.of(2L, 3L), engine.search("аккум", Utils.newPage(FROM, SIZE)));
+    }
+
+    @Test
+    void searchByShortQueryShouldReturnMatchingItems() {
+        assertEquals(List.of(3L), engine.search("тв", Utils.newPage(FROM, SIZE)));
+    }
+
+    @Test
+    void searchAcrossWordBoundaryShouldReturnMatchingItems() {
+        assertEquals(List.of(2L), engine.search("дрель + акк", Utils.newPage(FROM, SIZE)));
+    }
+
+    @Test
+    void searchShouldSkipUnavailableItems() {
+        assertTrue(engine.search("клей", Utils.newPage(FROM, SIZE)).isEmpty());
+    }
+
+    @Test
+    void searchShouldNotReturnItemsThatOnlyShareGrams() {
+        assertTrue(engine.search("дрелька", Utils.newPage(FROM, SIZE)).isEmpty());
+    }
+
+    @Test
+    void searchShouldApplyPage() {
+        assertEquals(List.of(1L), engine.search("р", Utils.newPage(0, 1)));
+        assertEquals(List.of(2L), engine.search("р", Utils.newPage(1, 1)));
+        assertEquals(List.of(3L), engine.search("р", Utils.newPage(2, 1)));
+    }
+
+    @Test
+    void searchWithEmptyQueryShouldReturnEmptyList() {
+        assertTrue(engine.search("", Utils.newPage(FROM, SIZE)).isEmpty());
+    }
+
+    @Test
+    void indexShouldReplacePreviousVersionOfItem() {
+        engine.index(1L, "Перфоратор", "Мощный", true);
+
+        assertEquals(List.of(2L), engine.search("дрель", Utils.newPage(FROM, SIZE)));
+        assertEquals(List.of(1L), engine.search("перфо", Utils.newPage(FROM, SIZE)));
+    }
+
+    @Test
+    void removeShouldDropItemFromResults() {
+        engine.remove(2L);
+
+        assertEquals(List.of(1L), engine.search("дрель", Utils.newPage(FROM, SIZE)));
+        assertEquals(List.of(3L), engine.search("аккум", Utils.newPage(FROM, SIZE)));
+    }
+
+    @Test
+    void rebuildShouldKeepChangesIndexedDuringScan() throws SQLException {
+        var jdbcTemplate = mock(JdbcTemplate.class);
+        var rebuilt = new InvertedIndexItemSearchEngine(jdbcTemplate);
+        var staleRow = mock(ResultSet.class);
+        when(staleRow.getLong(1)).thenReturn(1L);
+        when(staleRow.getString(2)).thenReturn("Дрель");
+        when(staleRow.getString(3)).thenReturn("Простая дрель");
+        when(staleRow.getBoolean(4)).thenReturn(true);
+        doAnswer(it -> {
+            rebuilt.index(1L, "Перфоратор", "Мощный", true);
+            it.<RowCallbackHandler>getArgument(1).processRow(staleRow);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        rebuilt.rebuild();
+
+        assertEquals(List.of(1L), rebuilt.search("перфо", Utils.newPage(FROM, SIZE)));
+        assertTrue(rebuilt.search("дрель", Utils.newPage(FROM, SIZE)).isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.Utils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TrigramItemSearchEngine engine;
+
+    @Test
+    void searchShouldPassLowercasedEscapedPatternAndPage() {
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(2L, 1L));
+
+        var result = engine.search("50%_Off", Utils.newPage(20, 10));
+
+        var captor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), captor.capture(), eq(Long.class));
+        var parameters = captor.getValue();
+        assertEquals(List.of(2L, 1L), result);
+        assertEquals("50%_off", parameters.getValue("text"));
+        assertEquals("%50\\%\\_off%", parameters.getValue("pattern"));
+        assertEquals(10, parameters.getValue("limit"));
+        assertEquals(20L, parameters.getValue("offset"));
+    }
+}
@@ -6,20 +6,31 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.Utils;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
+import ru.practicum.shareit.booking.availability.AvailabilityIndexUpdater;
+import ru.practicum.shareit.booking.model.NearestBookings;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.ItemVersion;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.TestUtils.*;
 
@@ -41,9 +52,53 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private AvailabilityIndexUpdater availabilityIndexUpdater;
+
     @InjectMocks
     private ItemServiceImpl service;
 
+    @Test
+    void getAvailableWithoutTextShouldSkipBookedItemsAndApplyOffset() {
+        var start = REQUEST_TIME.plusDays(1);
+        var end = REQUEST_TIME.plusDays(2);
+        var item3 = ITEM_1.toBuilder().id(3L).build();
+        when(itemRepository.findAvailable(any(), anyInt())).thenReturn(List.of(ITEM_1, ITEM_2, item3));
+        when(availabilityIndex.filterFree(anyList(), any(), any())).thenAnswer(it -> it.<List<Long>>getArgument(0).stream()
+                .filter(id -> !id.equals(ITEM_ID_2))
+                .collect(Collectors.toList()));
+
+        var list = service.getAvailable(null, start, end, Utils.newPage(1, 1));
+
+        assertEquals(List.of(item3), list);
+        verify(itemRepository, times(1)).findAvailable(null, 100);
+        verify(itemRepository, never()).searchBy(anyString(), any());
+    }
+
+    @Test
+    void getAvailableWithTextShouldFilterSearchResults() {
+        var start = REQUEST_TIME.plusDays(1);
+        var end = REQUEST_TIME.plusDays(2);
+        var unavailable = ITEM_2.toBuilder().available(false).build();
+        when(itemRepository.searchBy(anyString(), any())).thenReturn(List.of(ITEM_1, unavailable));
+        when(availabilityIndex.filterFree(anyList(), any(), any())).thenAnswer(it -> it.getArgument(0));
+
+        var list = service.getAvailable("name", start, end, Utils.newPage(FROM, SIZE));
+
+        assertEquals(List.of(ITEM_1), list);
+        verify(itemRepository, never()).findAvailable(any(), anyInt());
+    }
+
+    @Test
+    void getAvailableWithEndBeforeStartShouldThrowBadRequestException() {
+        assertThrows(BadRequestException.class,
+                () -> service.getAvailable(null, REQUEST_TIME, REQUEST_TIME, Utils.newPage(FROM, SIZE)));
+        verify(itemRepository, never()).findAvailable(any(), anyInt());
+    }
+
     @Test
     void getItemsWithCorrectArgumentsShouldReturnItems() {
         when(userRepository.getById(anyLong())).thenReturn(USER_1);
@@ -57,6 +112,28 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).getItems(USER_ID_1, Utils.newPage(FROM, SIZE));
     }
 
+    @Test
+    void getItemsShouldLoadCommentsAndBookingsForWholePageAtOnce() {
+        var itemIds = List.of(ITEM_ID_1, ITEM_ID_2);
+        when(userRepository.getById(anyLong())).thenReturn(USER_1);
+        when(itemRepository.getItems(anyLong(), any())).thenReturn(List.of(ITEM_1, ITEM_2));
+        when(commentRepository.find(anyCollection())).thenReturn(Map.of(ITEM_ID_1, List.of(COMMENT)));
+        when(bookingRepository.findNearestApproved(anyCollection()))
+                .thenReturn(Map.of(ITEM_ID_1, NearestBookings.builder().last(BOOKING).build()));
+
+        var list = service.getItems(USER_ID_1, Utils.newPage(FROM, SIZE));
+
+        assertEquals(2, list.size());
+        assertEquals(List.of(COMMENT), list.get(0).getComments());
+        assertEquals(BOOKING, list.get(0).getLast());
+        assertNull(list.get(0).getNext());
+        assertEquals(0, list.get(1).getComments().size());
+        assertNull(list.get(1).getLast());
+        verify(commentRepository, times(1)).find(itemIds);
+        verify(bookingRepository, times(1)).findNearestApproved(itemIds);
+        verify(commentRepository, never()).find(anyLong());
+    }
+
     @Test
     void getItemsWithWrongUserIdShouldThrowNotFoundException() {
         when(userRepository.getById(anyLong())).thenThrow(NotFoundException.class);
@@ -114,6 +191,7 @@ class ItemServiceImplTest {
 
         verify(userRepository, times(1)).getById(USER_ID_1);
         verify(itemRepository, times(1)).deleteItem(USER_ID_1, ITEM_ID_1);
+        verify(availabilityIndexUpdater, times(1)).onItemDeleted(ITEM_ID_1);
     }
 
     @Test
@@ -133,6 +211,7 @@ class ItemServiceImplTest {
         assertThrows(NotFoundException.class, () -> service.deleteItem(USER_ID_1, ITEM_ID_1));
         verify(userRepository, times(1)).getById(USER_ID_1);
         verify(itemRepository, times(1)).deleteItem(USER_ID_1, ITEM_ID_1);
+        verify(availabilityIndexUpdater, never()).onItemDeleted(anyLong());
     }
 
     @Test
@@ -183,8 +262,7 @@ class ItemServiceImplTest {
         when(userRepository.getById(anyLong())).thenReturn(USER_1);
         when(itemRepository.getItem(anyLong())).thenReturn(ITEM_1);
         when(commentRepository.find(anyLong())).thenReturn(Collections.emptyList());
-        when(bookingRepository.findLastApproved(anyLong())).thenReturn(null);
-        when(bookingRepository.findNextApproved(anyLong())).thenReturn(null);
+        when(bookingRepository.findNearestApproved(anyCollection())).thenReturn(Collections.emptyMap());
 
         var item = service.getItem(USER_ID_1, ITEM_ID_1);
 
@@ -197,8 +275,7 @@ class ItemServiceImplTest {
         verify(userRepository, times(1)).getById(USER_ID_1);
         verify(itemRepository, times(1)).getItem(ITEM_ID_1);
         verify(commentRepository, times(1)).find(ITEM_ID_1);
-        verify(bookingRepository, times(1)).findLastApproved(ITEM_ID_1);
-        verify(bookingRepository, times(1)).findNextApproved(ITEM_ID_1);
+        verify(bookingRepository, times(1)).findNearestApproved(List.of(ITEM_ID_1));
     }
 
     @Test
@@ -209,8 +286,7 @@ class ItemServiceImplTest {
         verify(userRepository, times(1)).getById(USER_ID_2);
         verify(itemRepository, never()).getItem(anyLong());
         verify(commentRepository, never()).find(anyLong());
-        verify(bookingRepository, never()).findLastApproved(anyLong());
-        verify(bookingRepository, never()).findNextApproved(anyLong());
+        verify(bookingRepository, never()).findNearestApproved(anyCollection());
     }
 
     @Test
@@ -222,8 +298,7 @@ class ItemServiceImplTest {
         verify(userRepository, times(1)).getById(USER_ID_1);
         verify(itemRepository, times(1)).getItem(ITEM_ID_2);
         verify(commentRepository, never()).find(anyLong());
-        verify(bookingRepository, never()).findLastApproved(anyLong());
-        verify(bookingRepository, never()).findNextApproved(anyLong());
+        verify(bookingRepository, never()).findNearestApproved(anyCollection());
     }
 
     @Test
@@ -243,8 +318,36 @@ class ItemServiceImplTest {
         verify(userRepository, times(1)).getById(USER_ID_2);
         verify(itemRepository, times(1)).getItem(ITEM_ID_1);
         verify(commentRepository, times(1)).find(ITEM_ID_1);
-        verify(bookingRepository, never()).findLastApproved(anyLong());
-        verify(bookingRepository, never()).findNextApproved(anyLong());
+        verify(bookingRepository, never()).findNearestApproved(anyCollection());
+    }
+
+    @Test
+    void getItemTagForOwnerShouldIncludeNearestBookings() {
+        when(userRepository.getById(anyLong())).thenReturn(USER_1);
+        when(itemRepository.getVersion(anyLong())).thenReturn(ItemVersion.builder()
+                .id(ITEM_ID_1)
+                .ownerId(USER_ID_1)
+                .version(3)
+                .build());
+        when(bookingRepository.findNearestApproved(anyCollection()))
+                .thenReturn(Map.of(ITEM_ID_1, NearestBookings.builder().next(BOOKING).build()));
+
+        assertEquals("i1-3-0-1", service.getItemTag(USER_ID_1, ITEM_ID_1));
+        verify(itemRepository, never()).getItem(anyLong());
+        verify(commentRepository, never()).find(anyLong());
+    }
+
+    @Test
+    void getItemTagForOtherUserShouldNotLoadBookings() {
+        when(userRepository.getById(anyLong())).thenReturn(USER_2);
+        when(itemRepository.getVersion(anyLong())).thenReturn(ItemVersion.builder()
+                .id(ITEM_ID_1)
+                .ownerId(USER_ID_1)
+                .version(3)
+                .build());
+
+        assertEquals("i1-3", service.getItemTag(USER_ID_2, ITEM_ID_1));
+        verify(bookingRepository, never()).findNearestApproved(anyCollection());
     }
 
     @Test
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.Utils;
@@ -20,6 +21,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.Const.*;
 import static ru.practicum.shareit.TestUtils.*;
@@ -154,10 +156,29 @@ class ItemRequestControllerTest {
                         .header(X_SHARER_USER_ID_HEADER, USER_ID_1))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+                .andExpect(content().json(objectMapper.writeValueAsString(response)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"r1-0\""));
 
         verify(service, times(1))
                 .getById(USER_ID_1, ITEM_REQUEST_ID);
+        verify(service, never())
+                .getTag(anyLong(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void getByIdWithMatchingETagShouldReturnNotModified() {
+        var tag = "r1-0";
+        when(service.getTag(anyLong(), anyLong()))
+                .thenReturn(tag);
+
+        mockMvc.perform(get("/requests/{requestId}", ITEM_REQUEST_ID)
+                        .header(X_SHARER_USER_ID_HEADER, USER_ID_1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + tag + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(service, never())
+                .getById(anyLong(), anyLong());
     }
 
     @Test
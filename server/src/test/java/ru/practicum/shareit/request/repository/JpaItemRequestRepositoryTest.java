@@ -6,20 +6,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.user.db.UserEntity;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ru.practicum.shareit.TestUtils.*;
 
 @DataJpaTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class JpaItemRequestRepositoryTest {
     private final JpaItemRequestRepository repository;
+    private final ItemRepository itemRepository;
     private final EntityManager em;
 
     @BeforeEach
@@ -31,6 +38,33 @@ class JpaItemRequestRepositoryTest {
         repository.save(Objects.requireNonNull(requestEntity));
     }
 
+    @Test
+    @DirtiesContext
+    void getVersionShouldChangeWhenItemIsAddedChangedOrDeleted() {
+        var user = UserMapper.map(em.find(UserEntity.class, USER_ID_1));
+        var versions = new ArrayList<Long>();
+        versions.add(repository.getVersion(ITEM_REQUEST_ID).getVersion());
+
+        var item = itemRepository.addNewItem(user, ITEM_2, repository.getById(ITEM_REQUEST_ID));
+        versions.add(repository.getVersion(ITEM_REQUEST_ID).getVersion());
+        var other = itemRepository.addNewItems(user, List.of(ITEM_2)).get(0);
+        versions.add(repository.getVersion(ITEM_REQUEST_ID).getVersion());
+        itemRepository.update(USER_ID_1, other.toBuilder().name("renamed").build());
+        versions.add(repository.getVersion(ITEM_REQUEST_ID).getVersion());
+        itemRepository.deleteItem(USER_ID_1, item.getId());
+        versions.add(repository.getVersion(ITEM_REQUEST_ID).getVersion());
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), versions);
+        em.clear();
+        assertEquals(4L, repository.getById(ITEM_REQUEST_ID).getVersion());
+    }
+
+    @Test
+    @DirtiesContext
+    void getVersionWithWrongIdShouldThrowNotFoundException() {
+        assertThrows(NotFoundException.class, () -> repository.getVersion(ITEM_REQUEST_ID + 1));
+    }
+
     @Test
     @DirtiesContext
     void findByCreatorIdOrderByDateAscWithExistIdShouldReturnNonEmptyList() {
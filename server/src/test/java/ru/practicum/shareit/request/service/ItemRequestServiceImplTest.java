@@ -7,6 +7,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.Utils;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.request.model.ItemRequestVersion;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -96,6 +97,18 @@ class ItemRequestServiceImplTest {
         verify(itemRequestRepository, never()).getById(anyLong());
     }
 
+    @Test
+    void getTagShouldDescribeRequestItems() {
+        when(userRepository.getById(anyLong())).thenReturn(USER_1);
+        when(itemRequestRepository.getVersion(anyLong())).thenReturn(ItemRequestVersion.builder()
+                .id(ITEM_REQUEST_ID)
+                .version(5)
+                .build());
+
+        assertEquals("r1-5", service.getTag(USER_ID_1, ITEM_REQUEST_ID));
+        verify(itemRequestRepository, never()).getById(anyLong());
+    }
+
     @Test
     void getAllWithPaginationWithCorrectArgumentsShouldReturnList() {
         when(userRepository.getById(anyLong())).thenReturn(USER_1);
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.cache.ReadThroughCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.TestUtils.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserRepositoryTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReadThroughCache<Long, User> cache = new ReadThroughCache<>("users", 10, Duration.ofMinutes(1), registry);
+    private final ReadThroughCache<Long, Item> itemCache = new ReadThroughCache<>("items", 10, Duration.ofMinutes(1), registry);
+
+    @Mock
+    private JpaUserRepository delegate;
+
+    private CachingUserRepository repository;
+
+    @BeforeEach
+    void init() {
+        repository = new CachingUserRepository(delegate, cache, itemCache);
+        when(delegate.getById(USER_ID_1)).thenReturn(USER_1);
+    }
+
+    @Test
+    void getByIdShouldReadDatabaseOnce() {
+        assertEquals(USER_1, repository.getById(USER_ID_1));
+        assertEquals(USER_1, repository.getById(USER_ID_1));
+
+        verify(delegate, times(1)).getById(USER_ID_1);
+    }
+
+    @Test
+    void updateUserShouldEvictUserAndOwnedItems() {
+        repository.getById(USER_ID_1);
+        itemCache.get(ITEM_ID_1, id -> ITEM_1);
+        itemCache.get(ITEM_ID_2, id -> ITEM_2);
+
+        repository.updateUser(USER_1);
+        repository.getById(USER_ID_1);
+
+        verify(delegate, times(2)).getById(USER_ID_1);
+        assertEquals(1, itemCache.size());
+        assertEquals(ITEM_2, itemCache.get(ITEM_ID_2, id -> ITEM_1));
+    }
+
+    @Test
+    void deleteUserShouldEvictUserAndItems() {
+        repository.getById(USER_ID_1);
+        itemCache.get(ITEM_ID_1, id -> ITEM_1);
+
+        repository.deleteUser(USER_ID_1);
+        repository.getById(USER_ID_1);
+
+        verify(delegate, times(2)).getById(USER_ID_1);
+        assertEquals(0, itemCache.size());
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.db.CommentEntity;
+import ru.practicum.shareit.item.db.ItemEntity;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestUtils.*;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class JpaUserRepositoryTest {
+    private final JpaUserRepository repository;
+    private final EntityManager em;
+
+    @BeforeEach
+    void fill() {
+        var owner = UserMapper.mapToEntity(USER_1, null);
+        em.persist(owner);
+        var author = UserMapper.mapToEntity(USER_2, null);
+        em.persist(author);
+        var itemEntity = ItemMapper.mapToEntity(ITEM_1, null, owner, null);
+        em.persist(itemEntity);
+        em.persist(CommentEntity.builder()
+                .text("text")
+                .createdAt(REQUEST_TIME)
+                .author(author)
+                .item(itemEntity)
+                .build());
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DirtiesContext
+    void updateUserNameShouldChangeVersionOfCommentedItems() {
+        repository.updateUser(User.builder().id(USER_ID_2).email("other@email.com").build());
+        em.flush();
+        em.clear();
+        assertEquals(0L, em.find(ItemEntity.class, ITEM_ID_1).getVersion());
+
+        var updated = repository.updateUser(User.builder().id(USER_ID_2).name("renamed").build());
+        em.flush();
+        em.clear();
+
+        assertEquals("renamed", updated.getName());
+        assertEquals(1L, em.find(ItemEntity.class, ITEM_ID_1).getVersion());
+    }
+}
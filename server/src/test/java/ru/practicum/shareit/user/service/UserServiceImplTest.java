@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.AvailabilityIndexUpdater;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -12,6 +13,7 @@ import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.TestUtils.USER_1;
 import static ru.practicum.shareit.TestUtils.USER_ID_1;
@@ -21,6 +23,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AvailabilityIndexUpdater availabilityIndexUpdater;
+
     @InjectMocks
     private UserServiceImpl service;
 
@@ -83,9 +88,14 @@ class UserServiceImplTest {
     @Test
     void deleteUserWithCorrectRequestShouldReturnItem() {
         doNothing().when(userRepository).deleteUser(anyLong());
+        doAnswer(it -> {
+            it.<Runnable>getArgument(1).run();
+            return null;
+        }).when(availabilityIndexUpdater).deleteUser(anyLong(), any());
 
         service.deleteUser(USER_ID_1);
 
         verify(userRepository, times(1)).deleteUser(USER_ID_1);
+        verify(availabilityIndexUpdater, times(1)).deleteUser(eq(USER_ID_1), any());
     }
 }
\ No newline at end of file